@@ -0,0 +1,79 @@
+package com.mrngwozdz.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import org.jboss.resteasy.reactive.RestResponse;
+
+import java.util.List;
+
+@Tag(name = "Events", description = "Application events grouped by request")
+@Path("/events")
+@Produces(MediaType.APPLICATION_JSON)
+public interface EventsApi {
+
+    @Operation(
+            summary = "List event groups",
+            description = "Returns events grouped by serial, newest first. Pass nextCursor of a page as cursor to get the next one",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of event groups"),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit, cursor, status or time range")
+            }
+    )
+    @GET
+    RestResponse<?> getEvents(
+            @QueryParam("limit") @DefaultValue("20") int limit,
+            @QueryParam("cursor") String cursor,
+            @Parameter(description = "Event type of the group head", example = "API_REQUEST")
+            @QueryParam("eventType") @DefaultValue("API_REQUEST") String eventType,
+            @Parameter(description = "SUCCESS or FAILURE") @QueryParam("status") String status,
+            @Parameter(description = "Inclusive lower bound, ISO-8601 instant") @QueryParam("from") String from,
+            @Parameter(description = "Exclusive upper bound, ISO-8601 instant") @QueryParam("to") String to);
+
+    @Operation(
+            summary = "Search event payloads",
+            description = "Filters events by JSON containment, path existence and equality on event_data paths, newest first",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of matching events"),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter, or no event_data filter given"),
+                    @ApiResponse(responseCode = "503", description = "Too many searches in progress"),
+                    @ApiResponse(responseCode = "504", description = "Search exceeded the statement timeout")
+            }
+    )
+    @GET
+    @Path("/search")
+    RestResponse<?> searchEvents(
+            @Parameter(description = "JSON object event_data must contain", example = "{\"status\":\"FAILURE\"}")
+            @QueryParam("contains") String contains,
+            @Parameter(description = "Dot-separated path that must exist", example = "parameters.0.mediaGroupId")
+            @QueryParam("exists") String exists,
+            @Parameter(description = "path:value equality, repeatable", example = "parameters.0.chatId:42")
+            @QueryParam("eq") List<String> equals,
+            @QueryParam("eventType") String eventType,
+            @Parameter(description = "Inclusive lower bound, ISO-8601 instant") @QueryParam("from") String from,
+            @Parameter(description = "Exclusive upper bound, ISO-8601 instant") @QueryParam("to") String to,
+            @QueryParam("cursor") Long cursor,
+            @QueryParam("limit") @DefaultValue("20") int limit);
+
+    @Operation(
+            summary = "List event groups of a type",
+            description = "Same as GET /events with the event type taken from the path",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of event groups"),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit, cursor, status or time range")
+            }
+    )
+    @GET
+    @Path("/type/{eventType}")
+    RestResponse<?> getEventsByType(
+            @PathParam("eventType") String eventType,
+            @QueryParam("limit") @DefaultValue("20") int limit,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("status") String status,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to);
+
+}
@@ -0,0 +1,57 @@
+package com.mrngwozdz.api;
+
+import com.mrngwozdz.api.model.request.FileUploadRequest;
+import com.mrngwozdz.api.model.request.MessageRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import org.jboss.resteasy.reactive.RestResponse;
+
+import java.util.UUID;
+
+@Tag(name = "Jobs", description = "Asynchronous message processing")
+@Path("/jobs")
+@Produces(MediaType.APPLICATION_JSON)
+public interface JobsApi {
+
+    @Operation(
+            summary = "Submit message for asynchronous processing",
+            description = "Validates the message and returns a job to poll instead of waiting for the result",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Job accepted"),
+                    @ApiResponse(responseCode = "400", description = "Invalid message")
+            }
+    )
+    @POST
+    @Path("/message")
+    @Consumes(MediaType.APPLICATION_JSON)
+    RestResponse<?> submitMessage(MessageRequest request);
+
+    @Operation(
+            summary = "Submit picture with optional message for asynchronous processing",
+            description = "Stores the picture (PNG or JPG only) and returns a job to poll instead of waiting for the result",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Job accepted"),
+                    @ApiResponse(responseCode = "400", description = "Invalid file type - only PNG and JPG are supported")
+            }
+    )
+    @POST
+    @Path("/upload")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    RestResponse<?> submitUpload(FileUploadRequest request);
+
+    @Operation(
+            summary = "Get job",
+            description = "Returns the job status and, once finished, its result or error",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Job found"),
+                    @ApiResponse(responseCode = "404", description = "Job not found")
+            }
+    )
+    @GET
+    @Path("/{id}")
+    RestResponse<?> getJob(@PathParam("id") UUID id);
+
+}
@@ -8,8 +8,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 
 @Tag(name = "Public API", description = "Public API for application communication")
 @Path("")
@@ -53,4 +56,25 @@ public interface PublicApi {
     @Consumes(MediaType.MULTIPART_FORM_DATA)
     Response uploadPicture(FileUploadRequest request);
 
+    @Operation(
+            summary = "Process message from user as a stream",
+            description = "Processes a text message and relays the model output as Server-Sent Events: "
+                    + "'delta' events carry text chunks, followed by a single 'done' or 'error' event"
+    )
+    @POST
+    @Path("/message/stream")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    void processMessageStream(MessageRequest request, @Context SseEventSink sink, @Context Sse sse);
+
+    @Operation(
+            summary = "Upload picture with optional message as a stream",
+            description = "Uploads a picture file (PNG or JPG only) and relays the model output as Server-Sent Events"
+    )
+    @POST
+    @Path("/upload/stream")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    void uploadPictureStream(FileUploadRequest request, @Context SseEventSink sink, @Context Sse sse);
+
 }
\ No newline at end of file
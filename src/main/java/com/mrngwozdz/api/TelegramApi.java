@@ -1,6 +1,7 @@
 package com.mrngwozdz.api;
 
 import com.mrngwozdz.api.model.request.TelegramMessageRequest;
+import com.mrngwozdz.api.provider.TelegramWebhookIngress;
 import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -45,6 +46,7 @@ public interface TelegramApi {
     )
     @POST
     @Path("/webhook")
+    @TelegramWebhookIngress
     RestResponse<?> receiveWebhook(TelegramUpdate update);
 
 }
\ No newline at end of file
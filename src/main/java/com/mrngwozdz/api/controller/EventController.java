@@ -0,0 +1,40 @@
+package com.mrngwozdz.api.controller;
+
+import com.mrngwozdz.api.EventsApi;
+import com.mrngwozdz.platform.http.RestResults;
+import com.mrngwozdz.service.event.EventService;
+
+import jakarta.inject.Inject;
+import org.jboss.resteasy.reactive.RestResponse;
+
+import java.util.List;
+
+public class EventController implements EventsApi {
+
+    private final EventService eventService;
+
+    @Inject
+    public EventController(EventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @Override
+    public RestResponse<?> getEvents(int limit, String cursor, String eventType, String status, String from, String to) {
+        var response = eventService.find(eventType, status, from, to, cursor, limit);
+        return RestResults.from(response);
+    }
+
+    @Override
+    public RestResponse<?> searchEvents(String contains, String exists, List<String> equals, String eventType,
+                                        String from, String to, Long cursor, int limit) {
+        var response = eventService.search(eventType, contains, exists, equals, from, to, cursor, limit);
+        return RestResults.from(response);
+    }
+
+    @Override
+    public RestResponse<?> getEventsByType(String eventType, int limit, String cursor, String status, String from, String to) {
+        var response = eventService.find(eventType, status, from, to, cursor, limit);
+        return RestResults.from(response);
+    }
+
+}
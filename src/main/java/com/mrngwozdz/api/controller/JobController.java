@@ -0,0 +1,47 @@
+package com.mrngwozdz.api.controller;
+
+import com.mrngwozdz.api.JobsApi;
+import com.mrngwozdz.api.model.request.FileUploadRequest;
+import com.mrngwozdz.api.model.request.MessageRequest;
+import com.mrngwozdz.api.model.response.JobResponse;
+import com.mrngwozdz.platform.http.RestResults;
+import com.mrngwozdz.service.job.JobService;
+
+import jakarta.inject.Inject;
+import org.jboss.resteasy.reactive.RestResponse;
+
+import java.net.URI;
+import java.util.UUID;
+
+public class JobController implements JobsApi {
+
+    private final JobService jobService;
+
+    @Inject
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @Override
+    public RestResponse<?> submitMessage(MessageRequest request) {
+        var response = jobService.submit(request);
+        return RestResults.accepted(response, JobController::location);
+    }
+
+    @Override
+    public RestResponse<?> submitUpload(FileUploadRequest request) {
+        var response = jobService.submit(request);
+        return RestResults.accepted(response, JobController::location);
+    }
+
+    @Override
+    public RestResponse<?> getJob(UUID id) {
+        var response = jobService.get(id);
+        return RestResults.from(response);
+    }
+
+    private static URI location(JobResponse job) {
+        return URI.create("/jobs/" + job.id());
+    }
+
+}
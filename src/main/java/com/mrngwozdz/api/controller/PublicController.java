@@ -4,12 +4,22 @@ import com.mrngwozdz.api.PublicApi;
 import com.mrngwozdz.api.model.request.MessageRequest;
 import com.mrngwozdz.api.model.request.FileUploadRequest;
 import com.mrngwozdz.api.model.response.ProcessMessageResponse;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.FailureException;
+import com.mrngwozdz.service.event.Audited;
 import com.mrngwozdz.service.publicmessage.PublicMessageService;
 
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vavr.control.Either;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import java.util.Map;
 
+@Audited
 public class PublicController implements PublicApi {
 
     private final PublicMessageService publicMessageService;
@@ -42,4 +52,41 @@ public class PublicController implements PublicApi {
         );
     }
 
+    @Override
+    public void processMessageStream(MessageRequest request, SseEventSink sink, Sse sse) {
+        relay(publicMessageService.stream(request), sink, sse);
+    }
+
+    @Override
+    public void uploadPictureStream(FileUploadRequest request, SseEventSink sink, Sse sse) {
+        relay(publicMessageService.stream(request), sink, sse);
+    }
+
+    private static void relay(Either<Failure, Multi<String>> stream, SseEventSink sink, Sse sse) {
+        if (stream.isLeft()) {
+            sendError(stream.getLeft(), sink, sse);
+            return;
+        }
+
+        stream.get()
+                .onItem().transformToUniAndConcatenate(chunk ->
+                        Uni.createFrom().completionStage(sink.send(sse.newEvent("delta", chunk))))
+                .subscribe().with(
+                        ignored -> { },
+                        error -> sendError(FailureException.toFailure(error), sink, sse),
+                        () -> sink.send(sse.newEvent("done", "")).whenComplete((ignored, error) -> sink.close()));
+    }
+
+    private static void sendError(Failure failure, SseEventSink sink, Sse sse) {
+        if (sink.isClosed()) {
+            return;
+        }
+        var event = sse.newEventBuilder()
+                .name("error")
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(Map.of("error", failure.message(), "code", failure.code().name()))
+                .build();
+        sink.send(event).whenComplete((ignored, error) -> sink.close());
+    }
+
 }
\ No newline at end of file
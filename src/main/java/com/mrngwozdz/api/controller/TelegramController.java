@@ -3,12 +3,14 @@ package com.mrngwozdz.api.controller;
 import com.mrngwozdz.api.TelegramApi;
 import com.mrngwozdz.api.model.request.TelegramMessageRequest;
 import com.mrngwozdz.platform.http.RestResults;
+import com.mrngwozdz.service.event.Audited;
 import com.mrngwozdz.service.telegram.TelegramService;
 import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
 
 import jakarta.inject.Inject;
 import org.jboss.resteasy.reactive.RestResponse;
 
+@Audited
 public class TelegramController implements TelegramApi {
 
     private final TelegramService telegramService;
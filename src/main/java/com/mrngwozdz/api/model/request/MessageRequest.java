@@ -1,13 +1,14 @@
 package com.mrngwozdz.api.model.request;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mrngwozdz.platform.io.SpooledContent;
 import lombok.Data;
 
 @Data
 public class MessageRequest {
     private String text;
     @JsonProperty("image_data")
-    private byte[] imageData;
+    private SpooledContent imageData;
     @JsonProperty("image_filename")
     private String imageFilename;
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.mrngwozdz.api.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mrngwozdz.api.model.EventGroupDTO;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventPageResponse(
+        List<EventGroupDTO> groups,
+        String nextCursor
+) {
+}
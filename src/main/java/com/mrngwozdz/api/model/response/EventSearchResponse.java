@@ -0,0 +1,24 @@
+package com.mrngwozdz.api.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventSearchResponse(
+        List<Event> events,
+        Long nextCursor
+) {
+
+    public record Event(
+            Long id,
+            UUID serial,
+            String eventType,
+            String description,
+            String eventData,
+            Instant createdAt
+    ) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.mrngwozdz.api.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobResponse(
+        UUID id,
+        String status,
+        ProcessMessage processMessage,
+        String errorCode,
+        String errorMessage,
+        int attempts,
+        Instant createdAt,
+        Instant finishedAt
+) {
+}
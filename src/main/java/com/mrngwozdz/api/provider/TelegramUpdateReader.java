@@ -0,0 +1,75 @@
+package com.mrngwozdz.api.provider;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ConstrainedTo;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+@Provider
+@ConstrainedTo(RuntimeType.SERVER)
+@Consumes(MediaType.APPLICATION_JSON)
+public class TelegramUpdateReader implements MessageBodyReader<TelegramUpdate> {
+
+    private final ObjectMapper objectMapper;
+    private final Counter skipped;
+
+    @Inject
+    public TelegramUpdateReader(ObjectMapper objectMapper, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.skipped = registry.counter("telegram.webhook.skipped");
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == TelegramUpdate.class;
+    }
+
+    @Override
+    public TelegramUpdate readFrom(Class<TelegramUpdate> type, Type genericType, Annotation[] annotations,
+                                   MediaType mediaType, MultivaluedMap<String, String> httpHeaders,
+                                   InputStream entityStream) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(entityStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BadRequestException("Telegram update must be a JSON object");
+            }
+            Long updateId = null;
+            TelegramMessage message = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("update_id".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    updateId = parser.getLongValue();
+                } else if ("message".equals(field)) {
+                    message = parser.readValueAs(TelegramMessage.class);
+                } else if (updateId != null) {
+                    // every other top-level field is an update type we do not handle
+                    skipped.increment();
+                    return new TelegramUpdate(updateId, null);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new TelegramUpdate(updateId, message);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed Telegram update", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.mrngwozdz.api.provider;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.http.RestResults;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.ext.Provider;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+@Slf4j
+@Provider
+@TelegramWebhookIngress
+public class TelegramWebhookSecretFilter implements ContainerRequestFilter {
+
+    static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private final Optional<byte[]> secret;
+    private final Counter rejected;
+
+    @Inject
+    public TelegramWebhookSecretFilter(TelegramProperties telegramProperties, MeterRegistry registry) {
+        this.secret = telegramProperties.webhook().secretToken().map(token -> token.getBytes(StandardCharsets.UTF_8));
+        this.rejected = registry.counter("telegram.webhook.rejected", "reason", "secret");
+    }
+
+    @Override
+    public void filter(ContainerRequestContext context) {
+        if (secret.isEmpty()) {
+            return;
+        }
+        String header = context.getHeaderString(SECRET_HEADER);
+        // constant-time comparison, so the token cannot be guessed from response timing
+        if (header == null || !MessageDigest.isEqual(secret.get(), header.getBytes(StandardCharsets.UTF_8))) {
+            rejected.increment();
+            log.warn("Rejected Telegram webhook request without a valid secret token");
+            context.abortWith(RestResults.toResponse(Failure.of(ErrorCode.UNAUTHORIZED, "Invalid webhook secret token"))
+                    .toResponse());
+        }
+    }
+}
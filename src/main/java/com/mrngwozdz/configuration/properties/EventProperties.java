@@ -0,0 +1,65 @@
+package com.mrngwozdz.configuration.properties;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigMapping(prefix = "events")
+public interface EventProperties {
+
+    @WithDefault("true")
+    boolean enabled();
+
+    @WithDefault("10000")
+    int bufferSize();
+
+    @WithDefault("500")
+    int batchSize();
+
+    @WithDefault("1s")
+    String flushInterval();
+
+    Search search();
+
+    Partitions partitions();
+
+    enum PartitionInterval {
+        DAY,
+        MONTH
+    }
+
+    interface Partitions {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithDefault("DAY")
+        PartitionInterval interval();
+
+        @WithDefault("3")
+        int ahead();
+
+        @WithDefault("P30D")
+        Duration retention();
+
+        @WithDefault("archive/app_events/")
+        String archivePrefix();
+
+        @WithDefault("1h")
+        String maintenanceInterval();
+    }
+
+    interface Search {
+
+        @WithDefault("methodName,parameters.0.chatId")
+        List<String> indexedPaths();
+
+        @WithDefault("2")
+        int maxConcurrent();
+
+        @WithDefault("PT5S")
+        Duration statementTimeout();
+    }
+}
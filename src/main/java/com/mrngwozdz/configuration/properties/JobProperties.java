@@ -0,0 +1,25 @@
+package com.mrngwozdz.configuration.properties;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "jobs")
+public interface JobProperties {
+
+    @WithDefault("4")
+    int workers();
+
+    @WithDefault("1s")
+    String pollInterval();
+
+    @WithDefault("PT5M")
+    Duration lease();
+
+    @WithDefault("3")
+    int maxAttempts();
+
+    @WithDefault("PT5S")
+    Duration retryBackoff();
+}
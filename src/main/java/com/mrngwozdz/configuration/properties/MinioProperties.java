@@ -14,4 +14,7 @@ public interface MinioProperties {
 
     @WithDefault("images")
     String bucketName();
+
+    @WithDefault("false")
+    boolean contentAddressed();
 }
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.mrngwozdz.configuration.properties;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@ConfigMapping(prefix = "openai")
+public interface OpenAiProperties {
+
+    String url();
+
+    Optional<List<String>> endpoints();
+
+    String token();
+
+    String model();
+
+    @WithDefault("true")
+    boolean multiImage();
+
+    Http http();
+
+    Balancer balancer();
+
+    Cache cache();
+
+    Limiter limiter();
+
+    CircuitBreaker circuitBreaker();
+
+    Hedging hedging();
+
+    Batching batching();
+
+    interface Http {
+
+        @WithDefault("PT2S")
+        Duration connectTimeout();
+
+        @WithDefault("PT30S")
+        Duration readTimeout();
+
+        @WithDefault("PT45S")
+        Duration totalTimeout();
+
+        @WithDefault("20")
+        int poolSize();
+
+        @WithDefault("true")
+        boolean keepAlive();
+
+        @WithDefault("PT60S")
+        Duration keepAliveTimeout();
+
+        @WithDefault("false")
+        boolean http2();
+    }
+
+    enum Strategy {
+        LEAST_OUTSTANDING,
+        PEAK_EWMA
+    }
+
+    interface Balancer {
+
+        @WithDefault("PEAK_EWMA")
+        Strategy strategy();
+
+        @WithDefault("PT10S")
+        Duration ewmaDecay();
+
+        @WithDefault("PT1S")
+        Duration initialLatency();
+
+        @WithDefault("3")
+        int ejectionFailures();
+
+        @WithDefault("PT30S")
+        Duration ejectionDuration();
+
+        HealthCheck healthCheck();
+
+        interface HealthCheck {
+
+            @WithDefault("true")
+            boolean enabled();
+
+            @WithDefault("10s")
+            String interval();
+
+            @WithDefault("PT2S")
+            Duration timeout();
+        }
+    }
+
+    interface Cache {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithDefault("1000")
+        long maximumSize();
+
+        @WithDefault("PT1H")
+        Duration ttl();
+
+        @WithDefault("true")
+        boolean persistent();
+
+        @WithDefault("1h")
+        String purgeInterval();
+    }
+
+    interface Limiter {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithDefault("10")
+        int initialLimit();
+
+        @WithDefault("1")
+        int minLimit();
+
+        @WithDefault("20")
+        int maxLimit();
+
+        @WithDefault("PT10S")
+        Duration latencyThreshold();
+
+        @WithDefault("0.9")
+        double backoffRatio();
+
+        @WithDefault("20")
+        int queueSize();
+
+        @WithDefault("PT1S")
+        Duration maxQueueWait();
+    }
+
+    interface CircuitBreaker {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithDefault("50")
+        int windowSize();
+
+        @WithDefault("20")
+        int minimumCalls();
+
+        @WithDefault("0.5")
+        double failureRateThreshold();
+
+        @WithDefault("0.8")
+        double slowCallRateThreshold();
+
+        @WithDefault("PT20S")
+        Duration slowCallDuration();
+
+        @WithDefault("PT30S")
+        Duration openDuration();
+
+        @WithDefault("3")
+        int halfOpenProbes();
+    }
+
+    interface Hedging {
+
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithDefault("0.95")
+        double quantile();
+
+        @WithDefault("PT0.5S")
+        Duration minimumDelay();
+
+        @WithDefault("200")
+        int sampleSize();
+
+        @WithDefault("50")
+        int minimumSamples();
+    }
+
+    interface Batching {
+
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithDefault("16")
+        int maxSize();
+
+        @WithDefault("PT0.005S")
+        Duration linger();
+    }
+}
@@ -0,0 +1,179 @@
+package com.mrngwozdz.configuration.properties;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@ConfigMapping(prefix = "telegram")
+public interface TelegramProperties {
+
+    Webhook webhook();
+
+    interface Webhook {
+
+        String url();
+
+        Optional<String> secretToken();
+
+        @WithDefault("message")
+        List<String> allowedUpdates();
+
+        @WithDefault("40")
+        int maxConnections();
+
+        @WithDefault("false")
+        boolean inlineReplies();
+
+        @WithDefault("PT2S")
+        Duration replyBudget();
+    }
+
+    Ingestion ingestion();
+
+    enum IngestionMode {
+        WEBHOOK,
+        POLLING
+    }
+
+    interface Ingestion {
+
+        @WithDefault("webhook")
+        IngestionMode mode();
+
+        // keep below the REST client read timeout
+        @WithDefault("PT25S")
+        Duration pollTimeout();
+
+        @WithDefault("100")
+        int batchSize();
+
+        @WithDefault("PT1S")
+        Duration errorBackoff();
+
+        @WithDefault("PT1M")
+        Duration maxErrorBackoff();
+    }
+
+    Sharding sharding();
+
+    interface Sharding {
+
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithDefault("64")
+        int shards();
+
+        @WithDefault("5s")
+        String heartbeatInterval();
+
+        @WithDefault("PT20S")
+        Duration nodeTimeout();
+
+        @WithDefault("500ms")
+        String drainInterval();
+
+        @WithDefault("100")
+        int drainBatchSize();
+    }
+
+    Outbox outbox();
+
+    interface Outbox {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithDefault("1s")
+        String pollInterval();
+
+        @WithDefault("50")
+        int batchSize();
+
+        @WithDefault("PT1M")
+        Duration lease();
+
+        @WithDefault("5")
+        int maxAttempts();
+
+        @WithDefault("PT5S")
+        Duration retryBackoff();
+
+        @WithDefault("PT24H")
+        Duration retention();
+    }
+
+    Photos photos();
+
+    interface Photos {
+
+        @WithDefault("1280")
+        int targetDimension();
+
+        @WithDefault("20971520")
+        long maxFileSize();
+
+        @WithDefault("PT30S")
+        Duration downloadTimeout();
+    }
+
+    MediaGroups mediaGroups();
+
+    interface MediaGroups {
+
+        @WithDefault("PT1S")
+        Duration quietPeriod();
+
+        @WithDefault("PT5S")
+        Duration maxWait();
+
+        @WithDefault("10")
+        int maxSize();
+    }
+
+    Updates updates();
+
+    interface Updates {
+
+        @WithDefault("8")
+        int workers();
+
+        @WithDefault("1000")
+        int queueSize();
+
+        @WithDefault("PT24H")
+        Duration dedupeTtl();
+
+        @WithDefault("100000")
+        long dedupeMaximumSize();
+    }
+
+    Outbound outbound();
+
+    interface Outbound {
+
+        @WithDefault("28")
+        double globalRatePerSecond();
+
+        @WithDefault("1")
+        double chatRatePerSecond();
+
+        @WithDefault("20")
+        double groupRatePerMinute();
+
+        @WithDefault("512")
+        int shortMessageLength();
+
+        @WithDefault("4096")
+        int maxMessageLength();
+
+        @WithDefault("3")
+        int maxRetries();
+
+        @WithDefault("PT30S")
+        Duration sendTimeout();
+    }
+}
@@ -0,0 +1,15 @@
+package com.mrngwozdz.configuration.properties;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.util.Optional;
+
+@ConfigMapping(prefix = "upload")
+public interface UploadProperties {
+
+    @WithDefault("262144")
+    int spillThreshold();
+
+    Optional<String> spillDirectory();
+}
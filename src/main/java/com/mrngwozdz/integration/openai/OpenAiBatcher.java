@@ -0,0 +1,112 @@
+package com.mrngwozdz.integration.openai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.integration.openai.model.OpenAiBatchRequest;
+import com.mrngwozdz.integration.openai.model.OpenAiBatchResponse;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.concurrent.MicroBatcher;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vavr.control.Either;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@ApplicationScoped
+public class OpenAiBatcher {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final OpenAiUpstream upstream;
+    private final Duration maxWait;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MicroBatcher<OpenAiProcessRequest, Either<Failure, String>> batcher;
+    private final DistributionSummary batchSize;
+
+    @Inject
+    public OpenAiBatcher(OpenAiUpstream upstream, OpenAiProperties openAiProperties, MeterRegistry registry) {
+        this.upstream = upstream;
+        var properties = openAiProperties.batching();
+        this.maxWait = properties.linger()
+                .plus(openAiProperties.http().connectTimeout())
+                .plus(openAiProperties.http().totalTimeout());
+        this.batcher = new MicroBatcher<>(properties.maxSize(), properties.linger(), this::send, executor);
+        this.batchSize = DistributionSummary.builder("openai.batching.size")
+                .description("Number of requests sent in one sidecar call")
+                .publishPercentiles(0.5, 0.95)
+                .register(registry);
+    }
+
+    public Either<Failure, String> process(OpenAiProcessRequest request) {
+        try {
+            return batcher.submit(request).get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return Either.left(Failure.of(ErrorCode.TIMEOUT, "OpenAI batch did not complete within " + maxWait));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Either.left(Failure.of(ErrorCode.UNKNOWN, "Interrupted while waiting for OpenAI batch"));
+        } catch (ExecutionException e) {
+            log.error("OpenAI batch failed: {}", e.getCause().getMessage(), e.getCause());
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "OpenAI batch failed: " + e.getCause().getMessage()));
+        }
+    }
+
+    private List<Either<Failure, String>> send(List<OpenAiProcessRequest> requests) {
+        batchSize.record(requests.size());
+        if (requests.size() == 1) {
+            return List.of(upstream.call(requests.getFirst()));
+        }
+
+        log.info("Sending batch of {} requests to OpenAI service", requests.size());
+        return upstream.callBatch(new OpenAiBatchRequest(requests))
+                .flatMap(body -> parseBatchResponse(body, requests.size()))
+                .fold(failure -> Collections.nCopies(requests.size(), Either.left(failure)), results -> results);
+    }
+
+    private static Either<Failure, List<Either<Failure, String>>> parseBatchResponse(String body, int expected) {
+        OpenAiBatchResponse response;
+        try {
+            response = OBJECT_MAPPER.readValue(body, OpenAiBatchResponse.class);
+        } catch (Exception e) {
+            log.error("Failed to parse OpenAI batch response: {}", e.getMessage());
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to parse OpenAI batch response: " + e.getMessage()));
+        }
+
+        if (response.results() == null || response.results().size() != expected) {
+            int actual = response.results() == null ? 0 : response.results().size();
+            log.error("OpenAI batch response has {} results for {} requests", actual, expected);
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "OpenAI batch response does not match the request")
+                    .with("expected", expected)
+                    .with("actual", actual));
+        }
+        return Either.right(response.results().stream().map(OpenAiBatcher::toResult).toList());
+    }
+
+    private static Either<Failure, String> toResult(JsonNode node) {
+        if (node.hasNonNull("error")) {
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "OpenAI service failed the request: " + node.get("error").asText()));
+        }
+        return Either.right(node.toString());
+    }
+
+    @PreDestroy
+    void close() {
+        batcher.close();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,42 @@
+package com.mrngwozdz.integration.openai;
+
+import com.mrngwozdz.integration.openai.model.OpenAiBatchRequest;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.CompletionStage;
+
+// Uni rather than CompletionStage: cancelling a Uni subscription resets the HTTP request
+public interface OpenAiClient {
+
+    @POST
+    @Path("/process")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<Response> process(OpenAiProcessRequest request);
+
+    @POST
+    @Path("/process/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<Response> processBatch(OpenAiBatchRequest request);
+
+    @POST
+    @Path("/process/stream")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    Multi<String> processStream(OpenAiProcessRequest request);
+
+    @GET
+    @Path("/health")
+    CompletionStage<Response> health();
+
+}
@@ -0,0 +1,93 @@
+package com.mrngwozdz.integration.openai;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class OpenAiEndpoint {
+
+    private final URI uri;
+    private final OpenAiClient client;
+    private final long decayNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private double ewmaNanos;
+    private long ewmaUpdatedAt;
+    private boolean measured;
+    private int consecutiveFailures;
+    private boolean ejected;
+    private long ejectedUntil;
+    private volatile boolean healthy = true;
+
+    OpenAiEndpoint(URI uri, OpenAiClient client, Duration decay, Duration initialLatency) {
+        this.uri = uri;
+        this.client = client;
+        this.decayNanos = decay.toNanos();
+        this.ewmaNanos = initialLatency.toNanos();
+    }
+
+    URI uri() {
+        return uri;
+    }
+
+    OpenAiClient client() {
+        return client;
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    synchronized void end(long latencyNanos, long now) {
+        outstanding.decrementAndGet();
+        if (!measured || latencyNanos > ewmaNanos) {
+            measured = true;
+            ewmaNanos = latencyNanos;
+        } else {
+            double weight = Math.exp(-(double) (now - ewmaUpdatedAt) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        ewmaUpdatedAt = now;
+    }
+
+    synchronized double ewmaNanos() {
+        return ewmaNanos;
+    }
+
+    double cost() {
+        return ewmaNanos() * (outstanding() + 1);
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+    }
+
+    synchronized boolean onFailure(int ejectionThreshold, Duration ejectionDuration, long now) {
+        if (++consecutiveFailures < ejectionThreshold) {
+            return false;
+        }
+        consecutiveFailures = 0;
+        ejected = true;
+        ejectedUntil = now + ejectionDuration.toNanos();
+        return true;
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    synchronized boolean isAvailable(long now) {
+        // nanoTime has an arbitrary origin, so ejectedUntil means nothing until the endpoint is first ejected
+        if (ejected && now - ejectedUntil >= 0) {
+            ejected = false;
+        }
+        return healthy && !ejected;
+    }
+}
@@ -0,0 +1,154 @@
+package com.mrngwozdz.integration.openai;
+
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+@Slf4j
+@ApplicationScoped
+public class OpenAiEndpoints {
+
+    private final OpenAiProperties.Balancer properties;
+    private final List<OpenAiEndpoint> endpoints;
+    private final MeterRegistry registry;
+
+    @Inject
+    public OpenAiEndpoints(OpenAiProperties openAiProperties, MeterRegistry registry) {
+        this.properties = openAiProperties.balancer();
+        this.registry = registry;
+        this.endpoints = openAiProperties.endpoints()
+                .filter(urls -> !urls.isEmpty())
+                .orElse(List.of(openAiProperties.url()))
+                .stream()
+                .map(url -> new OpenAiEndpoint(URI.create(url),
+                        OpenAiHttpClient.buildClient(URI.create(url), openAiProperties.http()),
+                        properties.ewmaDecay(), properties.initialLatency()))
+                .toList();
+
+        for (var endpoint : endpoints) {
+            String tag = endpoint.uri().toString();
+            Gauge.builder("openai.endpoint.outstanding", endpoint, OpenAiEndpoint::outstanding)
+                    .tag("endpoint", tag).register(registry);
+            Gauge.builder("openai.endpoint.latency.ewma", endpoint, e -> e.ewmaNanos() / 1_000_000)
+                    .tag("endpoint", tag).baseUnit("milliseconds").register(registry);
+            Gauge.builder("openai.endpoint.available", endpoint, e -> e.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .tag("endpoint", tag).register(registry);
+        }
+        log.info("OpenAI sidecar endpoints: {}", endpoints.stream().map(OpenAiEndpoint::uri).toList());
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    OpenAiEndpoint acquire() {
+        long now = System.nanoTime();
+        var available = endpoints.stream().filter(e -> e.isAvailable(now)).toList();
+        if (available.isEmpty()) {
+            // every replica is ejected: spreading load over all of them beats failing every request
+            log.warn("No healthy OpenAI endpoint available, using all {} endpoints", endpoints.size());
+            available = endpoints;
+        }
+        var endpoint = choose(available, properties.strategy(), ThreadLocalRandom.current());
+        endpoint.begin();
+        return endpoint;
+    }
+
+    void release(OpenAiEndpoint endpoint, long latencyNanos, boolean success) {
+        long now = System.nanoTime();
+        endpoint.end(latencyNanos, now);
+        Timer.builder("openai.endpoint.requests")
+                .tag("endpoint", endpoint.uri().toString())
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+
+        if (success) {
+            endpoint.onSuccess();
+        } else if (endpoints.size() > 1
+                && endpoint.onFailure(properties.ejectionFailures(), properties.ejectionDuration(), now)) {
+            log.warn("Ejecting OpenAI endpoint {} for {}", endpoint.uri(), properties.ejectionDuration());
+            ejections(endpoint).increment();
+        }
+    }
+
+    static OpenAiEndpoint choose(List<OpenAiEndpoint> candidates, OpenAiProperties.Strategy strategy,
+                                 RandomGenerator random) {
+        if (candidates.size() == 1) {
+            return candidates.getFirst();
+        }
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        var a = candidates.get(first);
+        var b = candidates.get(second);
+        return switch (strategy) {
+            case LEAST_OUTSTANDING -> a.outstanding() <= b.outstanding() ? a : b;
+            case PEAK_EWMA -> a.cost() <= b.cost() ? a : b;
+        };
+    }
+
+    @Scheduled(every = "${openai.balancer.health-check.interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void checkHealth() {
+        if (!properties.healthCheck().enabled() || endpoints.size() < 2) {
+            return;
+        }
+        for (var endpoint : endpoints) {
+            boolean healthy = probe(endpoint, properties.healthCheck().timeout());
+            if (healthy != endpoint.isHealthy()) {
+                log.warn("OpenAI endpoint {} is now {}", endpoint.uri(), healthy ? "healthy" : "unhealthy");
+            }
+            endpoint.setHealthy(healthy);
+        }
+    }
+
+    static boolean probe(OpenAiEndpoint endpoint, Duration timeout) {
+        try (Response response = endpoint.client().health().toCompletableFuture()
+                .get(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            // a 404 or 401 comes from something answering on the port, not necessarily a working replica
+            return Response.Status.Family.familyOf(response.getStatus()) == Response.Status.Family.SUCCESSFUL;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return endpoint.isHealthy();
+        } catch (Exception e) {
+            log.debug("Health check of {} failed: {}", endpoint.uri(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Counter ejections(OpenAiEndpoint endpoint) {
+        return registry.counter("openai.endpoint.ejections", "endpoint", endpoint.uri().toString());
+    }
+
+    @PreDestroy
+    void close() {
+        for (var endpoint : endpoints) {
+            if (endpoint.client() instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close OpenAI client for {}: {}", endpoint.uri(), e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.mrngwozdz.integration.openai;
+
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.integration.openai.model.OpenAiBatchRequest;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.FailureException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ConnectTimeoutException;
+import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vavr.control.Either;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.impl.NoStackTraceTimeoutException;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+@Slf4j
+@ApplicationScoped
+public class OpenAiHttpClient {
+
+    private final OpenAiProperties.Http properties;
+    private final OpenAiEndpoints endpoints;
+    private final int poolCapacity;
+    private final Semaphore pool;
+    private final MeterRegistry registry;
+    private final Timer poolWait;
+    private final Timer requestTimer;
+
+    @Inject
+    public OpenAiHttpClient(OpenAiProperties openAiProperties, OpenAiEndpoints endpoints, MeterRegistry registry) {
+        this.properties = openAiProperties.http();
+        this.endpoints = endpoints;
+        // every replica has its own connection pool
+        this.poolCapacity = properties.poolSize() * endpoints.size();
+        this.pool = new Semaphore(poolCapacity, true);
+        this.registry = registry;
+
+        this.poolWait = Timer.builder("openai.http.pool.wait")
+                .description("Time spent waiting for a free connection slot")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.requestTimer = Timer.builder("openai.http.requests")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("openai.http.pool.size", this, c -> c.poolCapacity).register(registry);
+        Gauge.builder("openai.http.pool.in-use", this, OpenAiHttpClient::inUse).register(registry);
+        Gauge.builder("openai.http.pool.utilization", this, c -> (double) c.inUse() / c.poolCapacity)
+                .register(registry);
+        Gauge.builder("openai.http.pool.pending", pool, Semaphore::getQueueLength).register(registry);
+    }
+
+    public Either<Failure, String> process(OpenAiProcessRequest request) {
+        return execute(client -> client.process(request));
+    }
+
+    public Either<Failure, String> processBatch(OpenAiBatchRequest request) {
+        return execute(client -> client.processBatch(request));
+    }
+
+    public Multi<String> processStream(OpenAiProcessRequest request) {
+        return Multi.createFrom().deferred(() -> {
+            long waitStart = System.nanoTime();
+            boolean acquired = acquire(properties.connectTimeout().toNanos());
+            poolWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                return Multi.createFrom().failure(new FailureException(
+                        Failure.of(ErrorCode.TIMEOUT, "Timed out waiting for a connection to the OpenAI service")));
+            }
+
+            OpenAiEndpoint endpoint = null;
+            Multi<String> stream;
+            long start = System.nanoTime();
+            try {
+                endpoint = endpoints.acquire();
+                log.info("Streaming request to OpenAI service at: {}", endpoint.uri());
+                stream = endpoint.client().processStream(request);
+            } catch (RuntimeException e) {
+                // the termination hook that releases the slot and the replica is not attached yet
+                pool.release();
+                if (endpoint != null) {
+                    endpoints.release(endpoint, System.nanoTime() - start, false);
+                }
+                return Multi.createFrom().failure(new FailureException(toFailure(e)));
+            }
+            OpenAiEndpoint streamEndpoint = endpoint;
+            return stream
+                    .onFailure(e -> !(e instanceof FailureException))
+                    .transform(e -> new FailureException(toFailure(e)))
+                    .onTermination().invoke((failure, cancelled) -> {
+                        long latency = System.nanoTime() - start;
+                        pool.release();
+                        requestTimer.record(latency, TimeUnit.NANOSECONDS);
+                        endpoints.release(streamEndpoint, latency,
+                                failure == null || isHealthy(Either.left(FailureException.toFailure(failure))));
+                    });
+        });
+    }
+
+    private Either<Failure, String> execute(Function<OpenAiClient, Uni<Response>> call) {
+        long waitStart = System.nanoTime();
+        // the total timeout covers the wait for a connection slot too
+        long deadline = waitStart + properties.totalTimeout().toNanos();
+        if (!acquire(Math.min(properties.connectTimeout().toNanos(), deadline - waitStart))) {
+            poolWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            log.warn("No free connection to OpenAI service within {}", properties.connectTimeout());
+            return Either.left(Failure.of(ErrorCode.TIMEOUT, "Timed out waiting for a connection to the OpenAI service"));
+        }
+        poolWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+
+        long requestStart = System.nanoTime();
+        try {
+            return send(call, deadline);
+        } finally {
+            pool.release();
+            requestTimer.record(System.nanoTime() - requestStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Either<Failure, String> send(Function<OpenAiClient, Uni<Response>> call, long deadline) {
+        OpenAiEndpoint endpoint = endpoints.acquire();
+        long start = System.nanoTime();
+        Either<Failure, String> result = null;
+        try {
+            result = send(endpoint, call, deadline);
+            return result;
+        } finally {
+            endpoints.release(endpoint, System.nanoTime() - start, result != null && isHealthy(result));
+        }
+    }
+
+    private Either<Failure, String> send(OpenAiEndpoint endpoint, Function<OpenAiClient, Uni<Response>> request,
+                                         long deadline) {
+        log.info("Sending request to OpenAI service at: {}", endpoint.uri());
+
+        CompletableFuture<Response> call = request.apply(endpoint.client()).subscribeAsCompletionStage();
+        try (Response response = call.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            if (response.getStatus() == 200) {
+                String responseBody = response.readEntity(String.class);
+                log.info("Successfully received response from OpenAI service");
+                return Either.right(responseBody);
+            } else {
+                String responseBody = null;
+                try {
+                    responseBody = response.readEntity(String.class);
+                } catch (Exception e) {
+                    log.warn("Failed to read error response body: {}", e.getMessage());
+                }
+
+                String errorMessage = String.format("OpenAI service returned status: %d, body: %s",
+                    response.getStatus(), responseBody != null ? responseBody : "unable to read");
+                log.error(errorMessage);
+                return Either.left(Failure.of(ErrorCode.IO_ERROR, errorMessage).with("upstreamStatus", response.getStatus()));
+            }
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            log.error("OpenAI service did not respond within {}", properties.totalTimeout());
+            return Either.left(Failure.of(ErrorCode.TIMEOUT, "OpenAI service did not respond within " + properties.totalTimeout()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            call.cancel(true);
+            return Either.left(Failure.of(ErrorCode.UNKNOWN, "Interrupted while calling OpenAI service"));
+        } catch (ExecutionException e) {
+            return Either.left(toFailure(e.getCause() != null ? e.getCause() : e));
+        } catch (Exception e) {
+            return Either.left(toFailure(e));
+        }
+    }
+
+    private static boolean isHealthy(Either<Failure, String> result) {
+        return result.isRight() || result.getLeft().code() == ErrorCode.UNKNOWN
+                || result.getLeft().context().get("upstreamStatus") instanceof Integer status && status < 500;
+    }
+
+    static Failure toFailure(Throwable e) {
+        if (isTimeout(e)) {
+            log.error("Timed out calling OpenAI service: {}", e.getMessage());
+            return Failure.of(ErrorCode.TIMEOUT, "Timed out calling OpenAI service: " + e.getMessage());
+        }
+        log.error("Failed to call OpenAI service: {}", e.getMessage(), e);
+        return Failure.of(ErrorCode.IO_ERROR, "Failed to call OpenAI service: " + e.getMessage());
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NoStackTraceTimeoutException
+                    || cause instanceof TimeoutException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof HttpTimeoutException
+                    || cause instanceof ConnectTimeoutException
+                    || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean acquire(long timeoutNanos) {
+        try {
+            return pool.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int inUse() {
+        return poolCapacity - pool.availablePermits();
+    }
+
+    static OpenAiClient buildClient(URI baseUri, OpenAiProperties.Http properties) {
+        HttpClientOptions options = new HttpClientOptions()
+                .setMaxPoolSize(properties.poolSize())
+                .setHttp2MaxPoolSize(properties.poolSize())
+                .setConnectTimeout((int) properties.connectTimeout().toMillis())
+                .setKeepAlive(properties.keepAlive())
+                .setKeepAliveTimeout((int) properties.keepAliveTimeout().toSeconds())
+                .setHttp2KeepAliveTimeout((int) properties.keepAliveTimeout().toSeconds());
+        if (properties.http2()) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setUseAlpn(true)
+                    .setHttp2ClearTextUpgrade(false);
+        }
+
+        return QuarkusRestClientBuilder.newBuilder()
+                .baseUri(baseUri)
+                .httpClientOptions(options)
+                .connectTimeout(properties.connectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(properties.readTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build(OpenAiClient.class);
+    }
+}
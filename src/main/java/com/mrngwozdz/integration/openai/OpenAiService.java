@@ -1,61 +1,54 @@
 package com.mrngwozdz.integration.openai;
 
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.integration.openai.cache.OpenAiRequestKey;
+import com.mrngwozdz.integration.openai.cache.OpenAiResultCache;
 import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
-import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.concurrent.SingleFlight;
 import com.mrngwozdz.platform.result.Failure;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
 import io.vavr.control.Either;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.client.Client;
-import jakarta.ws.rs.client.ClientBuilder;
-import jakarta.ws.rs.client.Entity;
-import jakarta.ws.rs.core.MediaType;
-import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @Slf4j
 @ApplicationScoped
 public class OpenAiService {
 
-    private final String openAiUrl;
-    private final Client client;
+    private final OpenAiUpstream upstream;
+    private final OpenAiBatcher batcher;
+    private final boolean batching;
+    private final OpenAiResultCache resultCache;
+    private final SingleFlight<String, Either<Failure, String>> singleFlight = new SingleFlight<>();
 
     @Inject
-    public OpenAiService(@ConfigProperty(name = "openai.url") String openAiUrl) {
-        this.openAiUrl = openAiUrl;
-        this.client = ClientBuilder.newClient();
+    public OpenAiService(OpenAiUpstream upstream, OpenAiBatcher batcher, OpenAiResultCache resultCache,
+                         OpenAiProperties openAiProperties, MeterRegistry registry) {
+        this.upstream = upstream;
+        this.batcher = batcher;
+        this.batching = openAiProperties.batching().enabled();
+        this.resultCache = resultCache;
+        Gauge.builder("openai.singleflight.in-flight", singleFlight, SingleFlight::inFlight).register(registry);
+        FunctionCounter.builder("openai.singleflight.coalesced", singleFlight, SingleFlight::coalescedCount)
+                .register(registry);
     }
 
     public Either<Failure, String> processRequest(OpenAiProcessRequest request) {
-        log.info("Sending request to OpenAI service at: {}", openAiUrl);
-
-        try {
-            Response response = client
-                .target(openAiUrl + "/process")
-                .request(MediaType.APPLICATION_JSON)
-                .post(Entity.json(request));
+        // identical concurrent requests share one cache lookup and at most one upstream call
+        return OpenAiRequestKey.of(request)
+                .map(key -> singleFlight.execute(key, () -> resultCache.get(request, () -> callService(request))))
+                .orElseGet(() -> callService(request));
+    }
 
-            if (response.getStatus() == 200) {
-                String responseBody = response.readEntity(String.class);
-                log.info("Successfully received response from OpenAI service");
-                return Either.right(responseBody);
-            } else {
-                String responseBody = null;
-                try {
-                    responseBody = response.readEntity(String.class);
-                } catch (Exception e) {
-                    log.warn("Failed to read error response body: {}", e.getMessage());
-                }
+    public Multi<String> processStream(OpenAiProcessRequest request) {
+        return upstream.stream(request);
+    }
 
-                String errorMessage = String.format("OpenAI service returned status: %d, body: %s",
-                    response.getStatus(), responseBody != null ? responseBody : "unable to read");
-                log.error(errorMessage);
-                return Either.left(Failure.of(ErrorCode.IO_ERROR, errorMessage));
-            }
-        } catch (Exception e) {
-            log.error("Failed to call OpenAI service: {}", e.getMessage(), e);
-            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to call OpenAI service: " + e.getMessage()));
-        }
+    private Either<Failure, String> callService(OpenAiProcessRequest request) {
+        return batching ? batcher.process(request) : upstream.call(request);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,316 @@
+package com.mrngwozdz.integration.openai;
+
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.integration.openai.model.OpenAiBatchRequest;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.concurrent.AdaptiveConcurrencyLimiter;
+import com.mrngwozdz.platform.concurrent.CircuitBreaker;
+import com.mrngwozdz.platform.concurrent.LatencyTracker;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.FailureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.vavr.control.Either;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+@ApplicationScoped
+public class OpenAiUpstream {
+
+    private static final Set<ErrorCode> DROPPED = Set.of(ErrorCode.TIMEOUT, ErrorCode.UNAVAILABLE);
+    private static final Set<ErrorCode> UNHEALTHY = Set.of(ErrorCode.TIMEOUT, ErrorCode.UNAVAILABLE, ErrorCode.IO_ERROR);
+    private static final String CONCURRENCY_LIMIT = "concurrency-limit";
+
+    private final OpenAiHttpClient httpClient;
+    private final OpenAiProperties.Limiter limiterProperties;
+    private final OpenAiProperties.CircuitBreaker breakerProperties;
+    private final OpenAiProperties.Hedging hedgingProperties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker breaker;
+    private final LatencyTracker latencies;
+    private final ExecutorService hedgingExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter hedges;
+    private final Counter hedgeWins;
+
+    @Inject
+    public OpenAiUpstream(OpenAiHttpClient httpClient, OpenAiProperties openAiProperties, MeterRegistry registry) {
+        this.httpClient = httpClient;
+        this.limiterProperties = openAiProperties.limiter();
+        this.breakerProperties = openAiProperties.circuitBreaker();
+        this.hedgingProperties = openAiProperties.hedging();
+        this.limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimiter.Settings(
+                limiterProperties.initialLimit(),
+                limiterProperties.minLimit(),
+                limiterProperties.maxLimit(),
+                limiterProperties.latencyThreshold(),
+                limiterProperties.backoffRatio(),
+                limiterProperties.queueSize(),
+                limiterProperties.maxQueueWait()));
+        this.breaker = new CircuitBreaker(new CircuitBreaker.Settings(
+                breakerProperties.windowSize(),
+                breakerProperties.minimumCalls(),
+                breakerProperties.failureRateThreshold(),
+                breakerProperties.slowCallRateThreshold(),
+                breakerProperties.slowCallDuration(),
+                breakerProperties.openDuration(),
+                breakerProperties.halfOpenProbes()));
+        this.latencies = new LatencyTracker(hedgingProperties.sampleSize(), hedgingProperties.minimumSamples());
+
+        Gauge.builder("openai.limiter.limit", limiter, AdaptiveConcurrencyLimiter::limit).register(registry);
+        Gauge.builder("openai.limiter.in-flight", limiter, AdaptiveConcurrencyLimiter::inFlight).register(registry);
+        Gauge.builder("openai.limiter.queue-depth", limiter, AdaptiveConcurrencyLimiter::queueDepth).register(registry);
+        FunctionCounter.builder("openai.limiter.rejected", limiter, AdaptiveConcurrencyLimiter::rejectedCount)
+                .register(registry);
+        Gauge.builder("openai.circuit-breaker.state", breaker, b -> b.state().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(registry);
+        FunctionCounter.builder("openai.circuit-breaker.rejected", breaker, CircuitBreaker::rejectedCount)
+                .register(registry);
+        this.hedges = registry.counter("openai.hedging.hedges");
+        this.hedgeWins = registry.counter("openai.hedging.wins");
+    }
+
+    public Either<Failure, String> call(OpenAiProcessRequest request) {
+        return guarded(() -> hedgingProperties.enabled() ? callHedged(request) : callLimited(() -> timed(request)));
+    }
+
+    public Either<Failure, String> callBatch(OpenAiBatchRequest request) {
+        return guarded(() -> callLimited(() -> httpClient.processBatch(request)));
+    }
+
+    public Multi<String> stream(OpenAiProcessRequest request) {
+        return Multi.createFrom().deferred(() -> {
+            boolean guarded = breakerProperties.enabled();
+            if (guarded && !breaker.tryAcquire()) {
+                return Multi.createFrom().failure(new FailureException(circuitOpen()));
+            }
+
+            AdaptiveConcurrencyLimiter.Permit permit = null;
+            if (limiterProperties.enabled()) {
+                var acquired = limiter.acquire();
+                if (acquired.isEmpty()) {
+                    if (guarded) {
+                        breaker.onIgnored();
+                    }
+                    return Multi.createFrom().failure(new FailureException(concurrencyLimitReached()));
+                }
+                permit = acquired.get();
+            }
+
+            var heldPermit = permit;
+            long start = System.nanoTime();
+            var firstOutputAt = new AtomicLong();
+            return httpClient.processStream(request)
+                    .onItem().invoke(() -> firstOutputAt.compareAndSet(0, System.nanoTime()))
+                    .onTermination().invoke((error, cancelled) -> {
+                        boolean unhealthy = error != null && UNHEALTHY.contains(FailureException.toFailure(error).code());
+                        if (heldPermit != null) {
+                            if (unhealthy) {
+                                heldPermit.onDropped();
+                            } else {
+                                heldPermit.onSuccess();
+                            }
+                        }
+                        if (guarded) {
+                            long end = firstOutputAt.get() != 0 ? firstOutputAt.get() : System.nanoTime();
+                            if (unhealthy) {
+                                breaker.onFailure(end - start);
+                            } else if (error == null && !cancelled) {
+                                breaker.onSuccess(end - start);
+                            } else {
+                                breaker.onIgnored();
+                            }
+                        }
+                    });
+        });
+    }
+
+    private Either<Failure, String> guarded(Supplier<Either<Failure, String>> call) {
+        if (!breakerProperties.enabled()) {
+            return call.get();
+        }
+
+        if (!breaker.tryAcquire()) {
+            return Either.left(circuitOpen());
+        }
+
+        long start = System.nanoTime();
+        Either<Failure, String> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            breaker.onFailure(System.nanoTime() - start);
+            throw e;
+        }
+
+        long latency = System.nanoTime() - start;
+        var previousState = breaker.state();
+        if (result.isRight()) {
+            breaker.onSuccess(latency);
+        } else if (isLimiterRejection(result.getLeft()) || !UNHEALTHY.contains(result.getLeft().code())) {
+            breaker.onIgnored();
+        } else {
+            breaker.onFailure(latency);
+        }
+        if (previousState != breaker.state()) {
+            log.warn("OpenAI circuit breaker changed state: {} -> {}", previousState, breaker.state());
+        }
+        return result;
+    }
+
+    private Either<Failure, String> callHedged(OpenAiProcessRequest request) {
+        var p95 = latencies.quantile(hedgingProperties.quantile());
+        if (p95.isEmpty()) {
+            return callLimited(() -> timed(request));
+        }
+
+        long delay = Math.max(p95.getAsLong(), hedgingProperties.minimumDelay().toNanos());
+        var primary = attempt(request);
+        try {
+            return primary.result().get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            hedges.increment();
+            var hedge = attempt(request);
+            var winner = firstSuccessful(primary, hedge);
+            if (winner.isRight() && hedge.result().isDone() && hedge.result().join() == winner) {
+                hedgeWins.increment();
+            }
+            return winner;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel();
+            return Either.left(Failure.of(ErrorCode.UNKNOWN, "Interrupted while waiting for OpenAI service"));
+        } catch (ExecutionException e) {
+            throw asRuntime(e.getCause());
+        }
+    }
+
+    private Attempt attempt(OpenAiProcessRequest request) {
+        var result = new CompletableFuture<Either<Failure, String>>();
+        Future<?> task = hedgingExecutor.submit(() -> {
+            try {
+                result.complete(callLimited(() -> timed(request)));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return new Attempt(result, task);
+    }
+
+    private Either<Failure, String> firstSuccessful(Attempt primary, Attempt hedge) {
+        var winner = new CompletableFuture<Either<Failure, String>>();
+        var remaining = new AtomicInteger(2);
+        for (var attempt : List.of(primary.result(), hedge.result())) {
+            attempt.whenComplete((result, error) -> {
+                boolean last = remaining.decrementAndGet() == 0;
+                if (error != null) {
+                    if (last) {
+                        winner.completeExceptionally(error);
+                    }
+                } else if (result.isRight() || last) {
+                    winner.complete(result);
+                }
+            });
+        }
+        try {
+            return winner.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Either.left(Failure.of(ErrorCode.UNKNOWN, "Interrupted while waiting for OpenAI service"));
+        } catch (ExecutionException e) {
+            throw asRuntime(e.getCause());
+        } finally {
+            primary.cancel();
+            hedge.cancel();
+        }
+    }
+
+    // interrupting the task makes OpenAiHttpClient cancel the request, which resets the connection
+    private record Attempt(CompletableFuture<Either<Failure, String>> result, Future<?> task) {
+
+        void cancel() {
+            if (!result.isDone()) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    private Either<Failure, String> callLimited(Supplier<Either<Failure, String>> call) {
+        if (!limiterProperties.enabled()) {
+            return call.get();
+        }
+
+        var permit = limiter.acquire();
+        if (permit.isEmpty()) {
+            return Either.left(concurrencyLimitReached());
+        }
+
+        Either<Failure, String> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            permit.get().onDropped();
+            throw e;
+        }
+
+        if (result.isLeft() && DROPPED.contains(result.getLeft().code())) {
+            permit.get().onDropped();
+        } else {
+            permit.get().onSuccess();
+        }
+        return result;
+    }
+
+    private Either<Failure, String> timed(OpenAiProcessRequest request) {
+        long start = System.nanoTime();
+        var result = httpClient.process(request);
+        if (result.isRight()) {
+            latencies.record(System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private static Failure circuitOpen() {
+        return Failure.of(ErrorCode.UNAVAILABLE, "OpenAI service is temporarily unavailable")
+                .with("reason", "circuit-open");
+    }
+
+    private Failure concurrencyLimitReached() {
+        log.warn("OpenAI concurrency limit reached: limit={}, queue={}", limiter.limit(), limiter.queueDepth());
+        return Failure.of(ErrorCode.UNAVAILABLE, "OpenAI service is at its concurrency limit")
+                .with("reason", CONCURRENCY_LIMIT);
+    }
+
+    private static boolean isLimiterRejection(Failure failure) {
+        return CONCURRENCY_LIMIT.equals(failure.context().get("reason"));
+    }
+
+    private static RuntimeException asRuntime(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    @PreDestroy
+    void close() {
+        hedgingExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+package com.mrngwozdz.integration.openai.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+public final class OpenAiRequestKey {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char SEPARATOR = '\u0000';
+
+    private OpenAiRequestKey() {}
+
+    public static Optional<String> of(OpenAiProcessRequest request) {
+        if (request.imageUrl() != null && request.imageDigest() == null) {
+            return Optional.empty();
+        }
+        if (request.imageUrls() != null && !request.imageUrls().isEmpty()) {
+            // presigned URLs change on every request and an album has no single digest
+            return Optional.empty();
+        }
+
+        String identity = String.valueOf(request.model()) + SEPARATOR
+                + normalizeText(request.text()) + SEPARATOR
+                + outputExample(request.outputExample()) + SEPARATOR
+                + (request.imageDigest() != null ? request.imageDigest() : "");
+        return Optional.of(sha256(identity));
+    }
+
+    static String normalizeText(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(text.strip()).replaceAll(" ");
+    }
+
+    private static String outputExample(Object outputExample) {
+        if (outputExample == null) {
+            return "";
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(outputExample);
+        } catch (JsonProcessingException e) {
+            return outputExample.toString();
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
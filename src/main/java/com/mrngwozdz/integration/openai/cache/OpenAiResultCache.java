@@ -0,0 +1,133 @@
+package com.mrngwozdz.integration.openai.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.result.Failure;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.scheduler.Scheduled;
+import io.vavr.control.Either;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Slf4j
+@ApplicationScoped
+public class OpenAiResultCache {
+
+    private static final String CACHE_NAME = "openai-results";
+
+    private final OpenAiProperties.Cache properties;
+    private final OpenAiResultCacheRepository repository;
+    private final Cache<String, String> memory;
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    @Inject
+    public OpenAiResultCache(OpenAiProperties openAiProperties, OpenAiResultCacheRepository repository,
+                             MeterRegistry registry) {
+        this.properties = openAiProperties.cache();
+        this.repository = repository;
+        this.memoryHits = hits(registry, "memory");
+        this.databaseHits = hits(registry, "database");
+        this.misses = Counter.builder("openai.cache.misses").register(registry);
+        this.sizeEvictions = evictions(registry, "size");
+        this.expiredEvictions = evictions(registry, "expired");
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .removalListener((String key, String value, RemovalCause cause) -> countEviction(cause))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, memory, CACHE_NAME);
+    }
+
+    public Either<Failure, String> get(OpenAiProcessRequest request, Supplier<Either<Failure, String>> loader) {
+        Optional<String> key = properties.enabled() ? OpenAiRequestKey.of(request) : Optional.empty();
+        if (key.isEmpty()) {
+            return loader.get();
+        }
+
+        String cacheKey = key.get();
+        String cached = memory.getIfPresent(cacheKey);
+        if (cached != null) {
+            memoryHits.increment();
+            return Either.right(cached);
+        }
+
+        Optional<String> persisted = findPersisted(cacheKey);
+        if (persisted.isPresent()) {
+            databaseHits.increment();
+            memory.put(cacheKey, persisted.get());
+            return Either.right(persisted.get());
+        }
+
+        misses.increment();
+        Either<Failure, String> result = loader.get();
+        result.peek(response -> store(cacheKey, request.model(), response));
+        return result;
+    }
+
+    @Scheduled(every = "${openai.cache.purge-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeExpired() {
+        if (!properties.enabled() || !properties.persistent()) {
+            return;
+        }
+        long deleted = repository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired OpenAI cache entries", deleted);
+        }
+    }
+
+    private Optional<String> findPersisted(String cacheKey) {
+        if (!properties.persistent()) {
+            return Optional.empty();
+        }
+        try {
+            return repository.findValid(cacheKey, Instant.now());
+        } catch (Exception e) {
+            log.warn("Failed to read OpenAI cache entry from database: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void store(String cacheKey, String model, String response) {
+        memory.put(cacheKey, response);
+        if (!properties.persistent()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            repository.upsert(cacheKey, model, response, now, now.plus(properties.ttl()));
+        } catch (Exception e) {
+            log.warn("Failed to write OpenAI cache entry to database: {}", e.getMessage());
+        }
+    }
+
+    private void countEviction(RemovalCause cause) {
+        switch (cause) {
+            case SIZE -> sizeEvictions.increment();
+            case EXPIRED -> expiredEvictions.increment();
+            default -> { }
+        }
+    }
+
+    private static Counter hits(MeterRegistry registry, String tier) {
+        return Counter.builder("openai.cache.hits").tag("tier", tier).register(registry);
+    }
+
+    private static Counter evictions(MeterRegistry registry, String cause) {
+        return Counter.builder("openai.cache.evictions").tag("cause", cause).register(registry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.mrngwozdz.integration.openai.cache;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@ApplicationScoped
+public class OpenAiResultCacheRepository implements PanacheRepositoryBase<OpenAiResultCacheEntity, String> {
+
+    @Transactional
+    public Optional<String> findValid(String cacheKey, Instant now) {
+        return find("cacheKey = ?1 and expiresAt > ?2", cacheKey, now)
+                .firstResultOptional()
+                .map(OpenAiResultCacheEntity::getResponse);
+    }
+
+    @Transactional
+    public void upsert(String cacheKey, String model, String response, Instant createdAt, Instant expiresAt) {
+        getEntityManager().createNativeQuery("""
+                        INSERT INTO openai_result_cache (cache_key, model, response, created_at, expires_at)
+                        VALUES (?1, ?2, ?3, ?4, ?5)
+                        ON CONFLICT (cache_key) DO UPDATE
+                        SET response = EXCLUDED.response, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at
+                        """)
+                .setParameter(1, cacheKey)
+                .setParameter(2, model)
+                .setParameter(3, response)
+                .setParameter(4, createdAt)
+                .setParameter(5, expiresAt)
+                .executeUpdate();
+    }
+
+    @Transactional
+    public long deleteExpired(Instant now) {
+        return delete("expiresAt <= ?1", now);
+    }
+}
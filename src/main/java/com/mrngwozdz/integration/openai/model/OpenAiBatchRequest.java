@@ -0,0 +1,8 @@
+package com.mrngwozdz.integration.openai.model;
+
+import java.util.List;
+
+public record OpenAiBatchRequest(
+        List<OpenAiProcessRequest> requests
+        ) {
+}
@@ -0,0 +1,10 @@
+package com.mrngwozdz.integration.openai.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+public record OpenAiBatchResponse(
+        List<JsonNode> results
+        ) {
+}
@@ -1,7 +1,11 @@
 package com.mrngwozdz.integration.openai.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.List;
+
 public record OpenAiProcessRequest(
         String text,
         String token,
@@ -9,6 +13,16 @@ public record OpenAiProcessRequest(
         @JsonProperty("image_url")
         String imageUrl,
         @JsonProperty("output_example")
-        Object outputExample
+        Object outputExample,
+        @JsonIgnore
+        String imageDigest,
+        @JsonProperty("image_urls")
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        List<String> imageUrls
         ) {
+
+    public OpenAiProcessRequest(String text, String token, String model, String imageUrl, Object outputExample,
+                                String imageDigest) {
+        this(text, token, model, imageUrl, outputExample, imageDigest, List.of());
+    }
 }
@@ -0,0 +1,149 @@
+package com.mrngwozdz.platform.concurrent;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class AdaptiveConcurrencyLimiter {
+
+    public record Settings(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            Duration latencyThreshold,
+            double backoffRatio,
+            int maxQueueSize,
+            Duration maxQueueWait
+    ) {}
+
+    private final Settings settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final LongAdder rejected = new LongAdder();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    public AdaptiveConcurrencyLimiter(Settings settings) {
+        this.settings = settings;
+        this.limit = Math.clamp(settings.initialLimit(), settings.minLimit(), settings.maxLimit());
+    }
+
+    public Optional<Permit> acquire() {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                return Optional.of(admit());
+            }
+            if (waiting >= settings.maxQueueSize()) {
+                rejected.increment();
+                return Optional.empty();
+            }
+
+            waiting++;
+            try {
+                long remaining = settings.maxQueueWait().toNanos();
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        return Optional.empty();
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                return Optional.of(admit());
+            } finally {
+                waiting--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private Permit admit() {
+        inFlight++;
+        return new Permit(System.nanoTime());
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void release(boolean dropped, long latencyNanos) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= currentLimit();
+            inFlight--;
+            if (dropped || latencyNanos > settings.latencyThreshold().toNanos()) {
+                limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+            } else if (saturated) {
+                limit = Math.min(settings.maxLimit(), limit + 1.0 / limit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void onSuccess() {
+            complete(false);
+        }
+
+        public void onDropped() {
+            complete(true);
+        }
+
+        private void complete(boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            release(dropped, System.nanoTime() - startNanos);
+        }
+    }
+}
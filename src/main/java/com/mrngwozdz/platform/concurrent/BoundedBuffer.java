@@ -0,0 +1,53 @@
+package com.mrngwozdz.platform.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class BoundedBuffer<T> {
+
+    private final int capacity;
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    public BoundedBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public boolean offer(T item) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        queue.offer(item);
+        return true;
+    }
+
+    public List<T> drain(int maxItems) {
+        List<T> items = new ArrayList<>(Math.min(maxItems, Math.max(size.get(), 0)));
+        T item;
+        while (items.size() < maxItems && (item = queue.poll()) != null) {
+            size.decrementAndGet();
+            items.add(item);
+        }
+        return items;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,140 @@
+package com.mrngwozdz.platform.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public record Settings(
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            double slowCallRateThreshold,
+            Duration slowCallDuration,
+            Duration openDuration,
+            int halfOpenProbes
+    ) {}
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    private final byte[] window;
+    private final LongAdder rejected = new LongAdder();
+    private State state = State.CLOSED;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public CircuitBreaker(Settings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    CircuitBreaker(Settings settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.window = new byte[settings.windowSize()];
+    }
+
+    // every permitted call must be followed by exactly one of onSuccess, onFailure or onIgnored
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= settings.openDuration().toNanos()) {
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        boolean permitted = switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> probesStarted < settings.halfOpenProbes();
+        };
+        if (!permitted) {
+            rejected.increment();
+        } else if (state == State.HALF_OPEN) {
+            probesStarted++;
+        }
+        return permitted;
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        record(false, latencyNanos);
+    }
+
+    public synchronized void onFailure(long latencyNanos) {
+        record(true, latencyNanos);
+    }
+
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesStarted > 0) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private void record(boolean failed, long latencyNanos) {
+        boolean slow = latencyNanos >= settings.slowCallDuration().toNanos();
+        switch (state) {
+            case CLOSED -> {
+                addToWindow((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+                if (recorded >= settings.minimumCalls() && thresholdExceeded()) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> {
+                if (failed || slow) {
+                    open();
+                } else if (++probesSucceeded >= settings.halfOpenProbes()) {
+                    close();
+                }
+            }
+            case OPEN -> { }
+        }
+    }
+
+    private void addToWindow(byte outcome) {
+        if (recorded == window.length) {
+            byte evicted = window[position];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        window[position] = outcome;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+        position = (position + 1) % window.length;
+    }
+
+    private boolean thresholdExceeded() {
+        return (double) failures / recorded >= settings.failureRateThreshold()
+                || (double) slowCalls / recorded >= settings.slowCallRateThreshold();
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mrngwozdz.platform.concurrent;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+public final class LatencyTracker {
+
+    private final long[] samples;
+    private final int minimumSamples;
+    private int position;
+    private int count;
+
+    public LatencyTracker(int capacity, int minimumSamples) {
+        this.samples = new long[capacity];
+        this.minimumSamples = minimumSamples;
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[position] = latencyNanos;
+        position = (position + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    public OptionalLong quantile(double quantile) {
+        long[] snapshot;
+        synchronized (this) {
+            if (count < minimumSamples || count == 0) {
+                return OptionalLong.empty();
+            }
+            snapshot = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(quantile * snapshot.length) - 1;
+        return OptionalLong.of(snapshot[Math.clamp(index, 0, snapshot.length - 1)]);
+    }
+}
@@ -0,0 +1,120 @@
+package com.mrngwozdz.platform.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public final class MicroBatcher<T, R> implements AutoCloseable {
+
+    private final int maxSize;
+    private final Duration linger;
+    private final Function<List<T>, List<R>> handler;
+    private final Executor executor;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "micro-batcher-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private List<Pending<T, R>> buffer = new ArrayList<>();
+    private ScheduledFuture<?> lingerFlush;
+    private long generation;
+
+    public MicroBatcher(int maxSize, Duration linger, Function<List<T>, List<R>> handler, Executor executor) {
+        this.maxSize = maxSize;
+        this.linger = linger;
+        this.handler = handler;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<R> submit(T item) {
+        var pending = new Pending<T, R>(item, new CompletableFuture<>());
+        List<Pending<T, R>> full = null;
+        synchronized (this) {
+            buffer.add(pending);
+            if (buffer.size() >= maxSize) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                long scheduledFor = generation;
+                lingerFlush = timer.schedule(() -> flushIfCurrent(scheduledFor), linger.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return pending.result();
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    public double averageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) items.sum() / count;
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        List<Pending<T, R>> remaining;
+        synchronized (this) {
+            remaining = drain();
+        }
+        if (!remaining.isEmpty()) {
+            dispatch(remaining);
+        }
+    }
+
+    private void flushIfCurrent(long scheduledFor) {
+        List<Pending<T, R>> batch;
+        synchronized (this) {
+            if (scheduledFor != generation || buffer.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    private List<Pending<T, R>> drain() {
+        generation++;
+        if (lingerFlush != null) {
+            lingerFlush.cancel(false);
+            lingerFlush = null;
+        }
+        var batch = buffer;
+        buffer = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<Pending<T, R>> batch) {
+        batches.increment();
+        items.add(batch.size());
+        executor.execute(() -> {
+            try {
+                List<R> results = handler.apply(batch.stream().map(Pending::item).toList());
+                if (results.size() != batch.size()) {
+                    throw new IllegalStateException(
+                            "Batch handler returned " + results.size() + " results for " + batch.size() + " items");
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result().complete(results.get(i));
+                }
+            } catch (RuntimeException | Error e) {
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        });
+    }
+
+    private record Pending<T, R>(T item, CompletableFuture<R> result) {}
+}
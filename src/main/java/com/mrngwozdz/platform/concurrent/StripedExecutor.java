@@ -0,0 +1,65 @@
+package com.mrngwozdz.platform.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public final class StripedExecutor implements AutoCloseable {
+
+    private final ThreadPoolExecutor[] stripes;
+
+    public StripedExecutor(String name, int stripes, int queueCapacityPerStripe) {
+        this.stripes = new ThreadPoolExecutor[stripes];
+        for (int i = 0; i < stripes; i++) {
+            String threadName = name + "-" + i;
+            this.stripes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacityPerStripe),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    public boolean execute(Object key, Runnable task) {
+        try {
+            stripes[Math.floorMod(spread(key.hashCode()), stripes.length)].execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    public int queueDepth() {
+        return Arrays.stream(stripes).mapToInt(stripe -> stripe.getQueue().size()).sum();
+    }
+
+    public int activeCount() {
+        return Arrays.stream(stripes).mapToInt(ThreadPoolExecutor::getActiveCount).sum();
+    }
+
+    @Override
+    public void close() {
+        for (var stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (var stripe : stripes) {
+            try {
+                stripe.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        // sequential ids such as chat ids would otherwise fall into neighbouring stripes in lockstep
+        int mixed = hash * 0x45d9f3b;
+        return mixed ^ (mixed >>> 16);
+    }
+}
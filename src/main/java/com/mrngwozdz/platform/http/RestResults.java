@@ -5,6 +5,9 @@ import com.mrngwozdz.platform.result.Success;
 import io.vavr.control.Either;
 import org.jboss.resteasy.reactive.RestResponse;
 
+import java.net.URI;
+import java.util.function.Function;
+
 public final class RestResults {
     private RestResults() {}
 
@@ -15,6 +18,7 @@ public final class RestResults {
     public static RestResponse<ResponseProblem> toResponse(Failure f) {
         int status = switch (f.code()) {
             case VALIDATION -> 400;
+            case UNAUTHORIZED -> 401;
             case NOT_FOUND  -> 404;
             case CONFLICT   -> 409;
             case TIMEOUT    -> 504;
@@ -36,4 +40,11 @@ public final class RestResults {
     public static <T> RestResponse<?> from(Either<Failure, Success<T>> e) {
         return e.fold(RestResults::toResponse, RestResults::ok);
     }
+
+    public static <T> RestResponse<?> accepted(Either<Failure, Success<T>> e, Function<T, URI> location) {
+        return e.fold(RestResults::toResponse, s -> RestResponse.ResponseBuilder
+                .create(RestResponse.Status.ACCEPTED, s.value())
+                .location(location.apply(s.value()))
+                .build());
+    }
 }
\ No newline at end of file
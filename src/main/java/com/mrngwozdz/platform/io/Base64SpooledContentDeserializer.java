@@ -0,0 +1,31 @@
+package com.mrngwozdz.platform.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class Base64SpooledContentDeserializer extends StdDeserializer<SpooledContent> {
+
+    private final int spillThreshold;
+    private final String spillDirectory;
+
+    public Base64SpooledContentDeserializer(int spillThreshold, String spillDirectory) {
+        super(SpooledContent.class);
+        this.spillThreshold = spillThreshold;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public SpooledContent deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        Path directory = spillDirectory != null ? Path.of(spillDirectory) : null;
+        try (SpooledContent.Writer writer = SpooledContent.writer(spillThreshold, directory)) {
+            parser.readBinaryValue(context.getBase64Variant(), writer);
+            SpooledContent content = writer.toContent();
+            SpooledContentReleasingDeserializer.track(context, content);
+            return content;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.mrngwozdz.platform.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+public final class SpooledContent implements AutoCloseable {
+
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final byte[] memory;
+    private final Path file;
+    private final long size;
+    private String sha256;
+
+    private SpooledContent(byte[] memory, Path file, long size, String sha256) {
+        this.memory = memory;
+        this.file = file;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    public static SpooledContent ofBytes(byte[] bytes) {
+        return new SpooledContent(bytes, null, bytes.length, null);
+    }
+
+    public static SpooledContent spool(InputStream in, int threshold, Path directory) throws IOException {
+        try (Writer writer = writer(threshold, directory)) {
+            in.transferTo(writer);
+            return writer.toContent();
+        }
+    }
+
+    public static Writer writer(int threshold, Path directory) {
+        return new Writer(threshold, directory);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    public String sha256() {
+        if (sha256 == null) {
+            MessageDigest digest = newDigest();
+            digest.update(memory);
+            sha256 = HexFormat.of().formatHex(digest.digest());
+        }
+        return sha256;
+    }
+
+    public InputStream openStream() throws IOException {
+        return file == null ? new ByteArrayInputStream(memory) : Files.newInputStream(file);
+    }
+
+    @Override
+    public void close() {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete spill file " + file, e);
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // closing the writer before toContent() discards everything written so far
+    public static final class Writer extends OutputStream {
+
+        private final int threshold;
+        private final Path directory;
+        private final MessageDigest digest = newDigest();
+        private byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        private int count;
+        private Path file;
+        private OutputStream fileStream;
+        private long size;
+        private boolean completed;
+
+        private Writer(int threshold, Path directory) {
+            this.threshold = threshold;
+            this.directory = directory;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (fileStream == null && count + len > threshold) {
+                spillToFile();
+            }
+            if (fileStream != null) {
+                fileStream.write(b, off, len);
+            } else {
+                ensureCapacity(count + len);
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+            }
+            digest.update(b, off, len);
+            size += len;
+        }
+
+        public SpooledContent toContent() throws IOException {
+            completed = true;
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (fileStream != null) {
+                fileStream.close();
+                return new SpooledContent(null, file, size, sha256);
+            }
+            return new SpooledContent(Arrays.copyOf(buffer, count), null, size, sha256);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (completed) {
+                return;
+            }
+            if (fileStream != null) {
+                fileStream.close();
+                Files.deleteIfExists(file);
+            }
+            buffer = null;
+        }
+
+        private void spillToFile() throws IOException {
+            file = directory != null
+                    ? Files.createTempFile(directory, "spool-", ".tmp")
+                    : Files.createTempFile("spool-", ".tmp");
+            fileStream = Files.newOutputStream(file);
+            fileStream.write(buffer, 0, count);
+            buffer = null;
+            count = 0;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(threshold, Math.max(required, buffer.length * 2)));
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mrngwozdz.platform.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.mrngwozdz.configuration.properties.UploadProperties;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+@Singleton
+public class SpooledContentObjectMapperCustomizer implements ObjectMapperCustomizer {
+
+    private final UploadProperties uploadProperties;
+
+    @Inject
+    public SpooledContentObjectMapperCustomizer(UploadProperties uploadProperties) {
+        this.uploadProperties = uploadProperties;
+    }
+
+    @Override
+    public void customize(ObjectMapper objectMapper) {
+        objectMapper.registerModule(module(uploadProperties.spillThreshold(), uploadProperties.spillDirectory().orElse(null)));
+    }
+
+    static SimpleModule module(int spillThreshold, String spillDirectory) {
+        return new SimpleModule("spooled-content")
+                .addDeserializer(SpooledContent.class, new Base64SpooledContentDeserializer(spillThreshold, spillDirectory))
+                .setDeserializerModifier(new SpooledContentReleasingDeserializer.Modifier());
+    }
+}
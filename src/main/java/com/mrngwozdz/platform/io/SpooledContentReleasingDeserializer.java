@@ -0,0 +1,68 @@
+package com.mrngwozdz.platform.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SpooledContentReleasingDeserializer extends DelegatingDeserializer {
+
+    private static final Object TRACKED = SpooledContentReleasingDeserializer.class;
+
+    public SpooledContentReleasingDeserializer(JsonDeserializer<?> delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new SpooledContentReleasingDeserializer(newDelegatee);
+    }
+
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        Object outer = context.getAttribute(TRACKED);
+        List<SpooledContent> tracked = new ArrayList<>();
+        context.setAttribute(TRACKED, tracked);
+        try {
+            return super.deserialize(parser, context);
+        } catch (IOException | RuntimeException e) {
+            tracked.forEach(SpooledContentReleasingDeserializer::closeQuietly);
+            throw e;
+        } finally {
+            context.setAttribute(TRACKED, outer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static void track(DeserializationContext context, SpooledContent content) {
+        if (context.getAttribute(TRACKED) instanceof List<?> tracked) {
+            ((List<SpooledContent>) tracked).add(content);
+        }
+    }
+
+    private static void closeQuietly(SpooledContent content) {
+        try {
+            content.close();
+        } catch (RuntimeException e) {
+            // the request already failed; a leftover spill file is reported by close itself
+        }
+    }
+
+    public static class Modifier extends BeanDeserializerModifier {
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription description,
+                                                      JsonDeserializer<?> deserializer) {
+            boolean spooled = description.findProperties().stream()
+                    .anyMatch(property -> SpooledContent.class.isAssignableFrom(property.getRawPrimaryType()));
+            return spooled ? new SpooledContentReleasingDeserializer(deserializer) : deserializer;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.mrngwozdz.platform.result;
 
 public enum ErrorCode {
     VALIDATION,
+    UNAUTHORIZED,
     INVALID_FILE_TYPE,
     NOT_FOUND,
     CONFLICT,
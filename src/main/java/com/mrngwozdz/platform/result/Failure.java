@@ -19,6 +19,7 @@ public record Failure(
     public Response.Status getHttpStatus() {
         return switch (code) {
             case VALIDATION, INVALID_FILE_TYPE -> Response.Status.BAD_REQUEST;
+            case UNAUTHORIZED -> Response.Status.UNAUTHORIZED;
             case NOT_FOUND -> Response.Status.NOT_FOUND;
             case CONFLICT -> Response.Status.CONFLICT;
             case TIMEOUT -> Response.Status.GATEWAY_TIMEOUT;
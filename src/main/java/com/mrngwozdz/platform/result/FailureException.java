@@ -0,0 +1,21 @@
+package com.mrngwozdz.platform.result;
+
+public class FailureException extends RuntimeException {
+
+    private final transient Failure failure;
+
+    public FailureException(Failure failure) {
+        super(failure.message(), null, false, false);
+        this.failure = failure;
+    }
+
+    public Failure failure() {
+        return failure;
+    }
+
+    public static Failure toFailure(Throwable throwable) {
+        return throwable instanceof FailureException e
+                ? e.failure()
+                : Failure.of(ErrorCode.UNKNOWN, throwable.getMessage());
+    }
+}
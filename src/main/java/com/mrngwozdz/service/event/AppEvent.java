@@ -0,0 +1,7 @@
+package com.mrngwozdz.service.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AppEvent(UUID serial, String eventType, String description, String eventData, Instant createdAt) {
+}
@@ -0,0 +1,202 @@
+package com.mrngwozdz.service.event;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@ApplicationScoped
+public class AppEventRepository {
+
+    private final DataSource dataSource;
+
+    @Inject
+    public AppEventRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public List<EventRow> findPage(EventQuery query, int headLimit) throws SQLException {
+        var sql = new StringBuilder("WITH page AS (SELECT created_at, serial FROM app_events WHERE event_type = ?");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(query.eventType());
+        if (query.status() != null) {
+            sql.append(" AND event_data ->> 'status' = ?");
+            parameters.add(query.status());
+        }
+        if (query.from() != null) {
+            sql.append(" AND created_at >= ?");
+            parameters.add(Timestamp.from(query.from()));
+        }
+        if (query.to() != null) {
+            sql.append(" AND created_at < ?");
+            parameters.add(Timestamp.from(query.to()));
+        }
+        if (query.after() != null) {
+            sql.append(" AND (created_at, serial) < (?, ?)");
+            parameters.add(Timestamp.from(query.after().createdAt()));
+            parameters.add(query.after().serial());
+        }
+        sql.append("""
+                 ORDER BY created_at DESC, serial DESC LIMIT ?)
+                SELECT p.created_at AS group_at, p.serial, e.event_type, e.description, e.event_data::text, e.created_at
+                FROM page p JOIN app_events e ON e.serial = p.serial
+                ORDER BY p.created_at DESC, p.serial DESC, e.created_at, e.id
+                """);
+        parameters.add(headLimit);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                List<EventRow> rows = new ArrayList<>();
+                while (result.next()) {
+                    rows.add(new EventRow(
+                            result.getTimestamp(1).toInstant(),
+                            result.getObject(2, UUID.class),
+                            result.getString(3),
+                            result.getString(4),
+                            result.getString(5),
+                            result.getTimestamp(6).toInstant()));
+                }
+                return rows;
+            }
+        }
+    }
+
+    public List<SearchRow> search(EventSearch search, Duration statementTimeout) throws SQLException {
+        var statement = searchStatement(search);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                try (var timeout = connection.createStatement()) {
+                    timeout.execute("SET LOCAL statement_timeout = " + statementTimeout.toMillis());
+                }
+                List<SearchRow> rows = new ArrayList<>();
+                try (PreparedStatement query = statement.prepare(connection);
+                     ResultSet result = query.executeQuery()) {
+                    while (result.next()) {
+                        rows.add(new SearchRow(
+                                result.getLong(1),
+                                result.getObject(2, UUID.class),
+                                result.getString(3),
+                                result.getString(4),
+                                result.getString(5),
+                                result.getTimestamp(6).toInstant()));
+                    }
+                }
+                connection.commit();
+                return rows;
+            } finally {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                connection.setReadOnly(false);
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    static SqlStatement searchStatement(EventSearch search) {
+        var sql = new StringBuilder("SELECT id, serial, event_type, description, event_data::text, created_at "
+                + "FROM app_events WHERE TRUE");
+        List<Object> parameters = new ArrayList<>();
+        if (search.eventType() != null) {
+            sql.append(" AND event_type = ?");
+            parameters.add(search.eventType());
+        }
+        if (search.contains() != null) {
+            sql.append(" AND event_data @> CAST(? AS jsonb)");
+            parameters.add(search.contains());
+        }
+        if (search.exists() != null) {
+            sql.append(" AND event_data @? CAST(? AS jsonpath)");
+            parameters.add(search.exists().jsonPath());
+        }
+        search.equals().forEach((path, value) -> {
+            sql.append(" AND ").append(path.textExpression()).append(" = ?");
+            parameters.add(value);
+        });
+        if (search.from() != null) {
+            sql.append(" AND created_at >= ?");
+            parameters.add(Timestamp.from(search.from()));
+        }
+        if (search.to() != null) {
+            sql.append(" AND created_at < ?");
+            parameters.add(Timestamp.from(search.to()));
+        }
+        if (search.before() != null) {
+            sql.append(" AND id < ?");
+            parameters.add(search.before());
+        }
+        sql.append(" ORDER BY id DESC LIMIT ?");
+        parameters.add(search.limit());
+        return new SqlStatement(sql.toString(), List.copyOf(parameters));
+    }
+
+    // CONCURRENTLY is not allowed on a partitioned table: declare on the parent only, build on each partition, then attach
+    public void createExpressionIndex(EventDataPath path) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute("CREATE INDEX IF NOT EXISTS " + path.indexName()
+                    + " ON ONLY app_events (" + path.textExpression() + ")");
+            for (String partition : partitionsMissingIndex(connection, path.indexName())) {
+                String partitionIndex = partition + "_" + Integer.toHexString(path.toString().hashCode());
+                statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + partitionIndex
+                        + " ON " + partition + " (" + path.textExpression() + ")");
+                statement.execute("ALTER INDEX " + path.indexName() + " ATTACH PARTITION " + partitionIndex);
+            }
+        }
+    }
+
+    private static List<String> partitionsMissingIndex(Connection connection, String parentIndex) throws SQLException {
+        try (var query = connection.prepareStatement("""
+                SELECT c.relname FROM pg_inherits p JOIN pg_class c ON c.oid = p.inhrelid
+                WHERE p.inhparent = 'app_events'::regclass
+                  AND NOT EXISTS (
+                      SELECT 1 FROM pg_inherits ip JOIN pg_index x ON x.indexrelid = ip.inhrelid
+                      WHERE ip.inhparent = CAST(? AS regclass) AND x.indrelid = c.oid)
+                """)) {
+            query.setString(1, parentIndex);
+            try (var result = query.executeQuery()) {
+                List<String> partitions = new ArrayList<>();
+                while (result.next()) {
+                    partitions.add(result.getString(1));
+                }
+                return partitions;
+            }
+        }
+    }
+
+    record SqlStatement(String sql, List<Object> parameters) {
+
+        PreparedStatement prepare(Connection connection) throws SQLException {
+            var statement = connection.prepareStatement(sql);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            return statement;
+        }
+    }
+
+    public record SearchRow(long id, UUID serial, String eventType, String description, String eventData,
+                            Instant createdAt) {
+    }
+
+    public record EventRow(Instant groupAt, UUID serial, String eventType, String description, String eventData,
+                           Instant createdAt) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.mrngwozdz.service.event;
+
+import com.mrngwozdz.configuration.properties.EventProperties;
+import com.mrngwozdz.platform.concurrent.BoundedBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@ApplicationScoped
+public class AppEventWriter {
+
+    private static final String INSERT = """
+            INSERT INTO app_events (serial, event_type, description, event_data, created_at)
+            VALUES (?, ?, ?, CAST(? AS jsonb), ?)
+            """;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final DataSource dataSource;
+    private final EventProperties properties;
+    private final BoundedBuffer<AppEvent> buffer;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter written;
+    private final Counter failed;
+
+    @Inject
+    public AppEventWriter(DataSource dataSource, EventProperties properties, MeterRegistry registry) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.buffer = new BoundedBuffer<>(properties.bufferSize());
+
+        Gauge.builder("app.events.buffered", buffer, BoundedBuffer::size).register(registry);
+        FunctionCounter.builder("app.events.dropped", buffer, BoundedBuffer::droppedCount).register(registry);
+        this.written = registry.counter("app.events.written");
+        this.failed = registry.counter("app.events.failed");
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    // never blocks: a full buffer drops the event and counts it in app.events.dropped
+    public boolean record(AppEvent event) {
+        return properties.enabled() && buffer.offer(event);
+    }
+
+    @Scheduled(every = "${events.flush-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flush() {
+        if (buffer.size() == 0 || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<AppEvent> batch;
+            while (!(batch = buffer.drain(properties.batchSize())).isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<AppEvent> events) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (writeBatch(connection, events)) {
+                written.increment(events.size());
+                return;
+            }
+            // one bad row fails the whole batch; write the rows one by one so only that row is lost
+            for (AppEvent event : events) {
+                writeOne(connection, event);
+            }
+        } catch (SQLException e) {
+            failed.increment(events.size());
+            log.error("Lost {} app events, no database connection: {}", events.size(), e.getMessage());
+        }
+    }
+
+    private static boolean writeBatch(Connection connection, List<AppEvent> events) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            for (AppEvent event : events) {
+                bind(statement, event);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            connection.rollback();
+            log.warn("Batch insert of {} app events failed, retrying them one by one: {}", events.size(), e.getMessage());
+            return false;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void writeOne(Connection connection, AppEvent event) {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            bind(statement, event);
+            statement.executeUpdate();
+            written.increment();
+        } catch (SQLException e) {
+            failed.increment();
+            log.error("Lost app event {} ({}): {}", event.serial(), event.eventType(), e.getMessage());
+        }
+    }
+
+    private static void bind(PreparedStatement statement, AppEvent event) throws SQLException {
+        statement.setObject(1, event.serial());
+        statement.setString(2, event.eventType());
+        statement.setString(3, truncate(event.description()));
+        if (event.eventData() == null) {
+            statement.setNull(4, Types.VARCHAR);
+        } else {
+            statement.setString(4, event.eventData());
+        }
+        statement.setTimestamp(5, Timestamp.from(event.createdAt()));
+    }
+
+    private static String truncate(String description) {
+        return description == null || description.length() <= MAX_DESCRIPTION_LENGTH
+                ? description
+                : description.substring(0, MAX_DESCRIPTION_LENGTH);
+    }
+
+    @PreDestroy
+    void close() {
+        flush();
+    }
+}
@@ -0,0 +1,139 @@
+package com.mrngwozdz.service.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.api.model.request.FileUploadRequest;
+import com.mrngwozdz.api.model.request.MessageRequest;
+import com.mrngwozdz.api.model.request.TelegramMessageRequest;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.resteasy.reactive.RestResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Audited
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class AuditInterceptor {
+
+    public static final String EVENT_TYPE = "API_REQUEST";
+
+    private final AppEventWriter writer;
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public AuditInterceptor(AppEventWriter writer, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+    }
+
+    @AroundInvoke
+    Object audit(InvocationContext context) throws Exception {
+        if (!writer.enabled()) {
+            return context.proceed();
+        }
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        String status = "FAILURE";
+        try {
+            Object result = context.proceed();
+            status = httpStatus(result) >= 400 ? "FAILURE" : "SUCCESS";
+            return result;
+        } finally {
+            long duration = (System.nanoTime() - start) / 1_000_000;
+            String methodName = context.getMethod().getName();
+            var data = new LinkedHashMap<String, Object>();
+            data.put("methodName", methodName);
+            data.put("duration", duration);
+            data.put("status", status);
+            data.put("parameters", parameters(context.getParameters()));
+            writer.record(new AppEvent(UUID.randomUUID(), EVENT_TYPE,
+                    "API call to %s.%s".formatted(context.getMethod().getDeclaringClass().getSimpleName(), methodName),
+                    toJson(data), startedAt));
+        }
+    }
+
+    private static int httpStatus(Object result) {
+        if (result instanceof Response response) {
+            return response.getStatus();
+        }
+        if (result instanceof RestResponse<?> response) {
+            return response.getStatus();
+        }
+        return 200;
+    }
+
+    private String toJson(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize audit event data: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // user text, names and file contents never leave the request; only these fields are recorded
+    static List<Object> parameters(Object[] arguments) {
+        var parameters = new ArrayList<>(arguments.length);
+        for (Object argument : arguments) {
+            parameters.add(summary(argument));
+        }
+        return parameters;
+    }
+
+    private static Map<String, Object> summary(Object argument) {
+        var summary = new LinkedHashMap<String, Object>();
+        if (argument == null) {
+            return summary;
+        }
+        summary.put("type", argument.getClass().getSimpleName());
+        switch (argument) {
+            case TelegramUpdate update -> {
+                summary.put("updateId", update.updateId());
+                summarize(update.message(), summary);
+            }
+            case TelegramMessageRequest request -> {
+                summary.put("chatId", request.getChatId());
+                summary.put("textLength", length(request.getText()));
+            }
+            case MessageRequest request -> {
+                summary.put("textLength", length(request.getText()));
+                summary.put("hasImage", request.getImageData() != null);
+            }
+            case FileUploadRequest request -> {
+                summary.put("textLength", length(request.text));
+                summary.put("hasFile", request.file != null);
+            }
+            default -> { }
+        }
+        return summary;
+    }
+
+    private static void summarize(TelegramMessage message, Map<String, Object> summary) {
+        if (message == null) {
+            return;
+        }
+        summary.put("messageId", message.messageId());
+        summary.put("chatId", message.chat() != null ? message.chat().id() : null);
+        summary.put("textLength", length(message.text() != null ? message.text() : message.caption()));
+        summary.put("hasPhoto", message.photo() != null && !message.photo().isEmpty());
+        summary.put("mediaGroupId", message.mediaGroupId());
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+}
@@ -0,0 +1,49 @@
+package com.mrngwozdz.service.event;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// segments are word characters only, so a path can be inlined into SQL and match its expression index
+public record EventDataPath(List<String> segments) {
+
+    private static final Pattern SEGMENT = Pattern.compile("[A-Za-z0-9_]+");
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+
+    public static Optional<EventDataPath> parse(String path) {
+        if (path == null || path.isBlank()) {
+            return Optional.empty();
+        }
+        var segments = Arrays.asList(path.trim().split("\\.", -1));
+        if (!segments.stream().allMatch(segment -> SEGMENT.matcher(segment).matches())) {
+            return Optional.empty();
+        }
+        return Optional.of(new EventDataPath(List.copyOf(segments)));
+    }
+
+    public String textExpression() {
+        return "(event_data #>> '{" + String.join(",", segments) + "}')";
+    }
+
+    public String jsonPath() {
+        return segments.stream()
+                .map(segment -> segment.chars().allMatch(Character::isDigit) ? "[" + segment + "]" : "." + segment)
+                .collect(Collectors.joining("", "$", ""));
+    }
+
+    public String indexName() {
+        var name = "idx_app_events_data_" + String.join("_", segments).toLowerCase();
+        if (name.length() <= MAX_IDENTIFIER_LENGTH) {
+            return name;
+        }
+        var hash = Integer.toHexString(String.join(".", segments).hashCode());
+        return name.substring(0, MAX_IDENTIFIER_LENGTH - hash.length() - 1) + "_" + hash;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(".", segments);
+    }
+}
@@ -0,0 +1,49 @@
+package com.mrngwozdz.service.event;
+
+import com.mrngwozdz.configuration.properties.EventProperties;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Slf4j
+@ApplicationScoped
+public class EventIndexManager {
+
+    private final AppEventRepository repository;
+    private final Set<EventDataPath> indexedPaths = new LinkedHashSet<>();
+
+    @Inject
+    public EventIndexManager(AppEventRepository repository, EventProperties properties) {
+        this.repository = repository;
+        for (String path : properties.search().indexedPaths()) {
+            EventDataPath.parse(path).ifPresentOrElse(indexedPaths::add,
+                    () -> log.warn("Ignoring invalid indexed event data path '{}'", path));
+        }
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (!indexedPaths.isEmpty()) {
+            Thread.ofVirtual().name("event-index-manager").start(this::ensureIndexes);
+        }
+    }
+
+    public Set<EventDataPath> indexedPaths() {
+        return Set.copyOf(indexedPaths);
+    }
+
+    void ensureIndexes() {
+        for (EventDataPath path : indexedPaths) {
+            try {
+                repository.createExpressionIndex(path);
+                log.info("Expression index {} on event_data path {} is in place", path.indexName(), path);
+            } catch (Exception e) {
+                log.error("Failed to create expression index for event_data path {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.mrngwozdz.service.event;
+
+import java.time.Instant;
+
+public record EventQuery(String eventType, String status, Instant from, Instant to, EventCursor after, int limit) {
+}
@@ -0,0 +1,8 @@
+package com.mrngwozdz.service.event;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record EventSearch(String eventType, String contains, EventDataPath exists, Map<EventDataPath, String> equals,
+                          Instant from, Instant to, Long before, int limit) {
+}
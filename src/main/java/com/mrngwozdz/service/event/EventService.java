@@ -0,0 +1,232 @@
+package com.mrngwozdz.service.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.api.model.EventGroupDTO;
+import com.mrngwozdz.api.model.EventItemDTO;
+import com.mrngwozdz.api.model.response.EventPageResponse;
+import com.mrngwozdz.api.model.response.EventSearchResponse;
+import com.mrngwozdz.configuration.properties.EventProperties;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.Success;
+import io.vavr.control.Either;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@ApplicationScoped
+public class EventService {
+
+    private static final int MAX_LIMIT = 100;
+    private static final Set<String> STATUSES = Set.of("SUCCESS", "FAILURE");
+    private static final String QUERY_CANCELED = "57014";
+
+    private final AppEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final EventProperties.Search searchProperties;
+    private final Semaphore searchPermits;
+
+    @Inject
+    public EventService(AppEventRepository repository, ObjectMapper objectMapper, EventProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.searchProperties = properties.search();
+        this.searchPermits = new Semaphore(searchProperties.maxConcurrent());
+    }
+
+    public Either<Failure, Success<EventSearchResponse>> search(String eventType, String contains, String exists,
+                                                                List<String> equals, String from, String to,
+                                                                Long cursor, int limit) {
+        return toSearch(eventType, contains, exists, equals, from, to, cursor, limit).flatMap(this::search);
+    }
+
+    private Either<Failure, Success<EventSearchResponse>> search(EventSearch search) {
+        if (!searchPermits.tryAcquire()) {
+            return Either.left(Failure.of(ErrorCode.UNAVAILABLE, "Too many event searches in progress"));
+        }
+        try {
+            var rows = repository.search(search, searchProperties.statementTimeout());
+            var events = rows.stream()
+                    .map(row -> new EventSearchResponse.Event(row.id(), row.serial(), row.eventType(),
+                            row.description(), row.eventData(), row.createdAt()))
+                    .toList();
+            Long nextCursor = events.size() == search.limit() ? events.getLast().id() : null;
+            return Either.right(Success.of(new EventSearchResponse(events, nextCursor)));
+        } catch (SQLException e) {
+            if (QUERY_CANCELED.equals(e.getSQLState())) {
+                return Either.left(Failure.of(ErrorCode.TIMEOUT, "Event search exceeded the statement timeout")
+                        .with("timeout", searchProperties.statementTimeout().toString()));
+            }
+            log.error("Failed to search events: {}", e.getMessage(), e);
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to search events"));
+        } finally {
+            searchPermits.release();
+        }
+    }
+
+    public Either<Failure, Success<EventPageResponse>> find(String eventType, String status, String from, String to,
+                                                            String cursor, int limit) {
+        return toQuery(eventType, status, from, to, cursor, limit).flatMap(this::find);
+    }
+
+    private Either<Failure, Success<EventPageResponse>> find(EventQuery query) {
+        List<AppEventRepository.EventRow> rows;
+        try {
+            // one extra head tells whether another page follows
+            rows = repository.findPage(query, query.limit() + 1);
+        } catch (Exception e) {
+            log.error("Failed to read events: {}", e.getMessage(), e);
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to read events"));
+        }
+
+        List<EventGroupDTO> groups = new ArrayList<>();
+        List<AppEventRepository.EventRow> current = new ArrayList<>();
+        EventCursor last = null;
+        String nextCursor = null;
+        for (var row : rows) {
+            if (!current.isEmpty() && !current.getFirst().serial().equals(row.serial())) {
+                groups.add(toGroup(current, query.eventType()));
+                last = new EventCursor(current.getFirst().groupAt(), current.getFirst().serial());
+                current = new ArrayList<>();
+            }
+            if (groups.size() == query.limit()) {
+                nextCursor = last.encode();
+                break;
+            }
+            current.add(row);
+        }
+        if (!current.isEmpty() && groups.size() < query.limit()) {
+            groups.add(toGroup(current, query.eventType()));
+        }
+        return Either.right(Success.of(new EventPageResponse(groups, nextCursor)));
+    }
+
+    private static Either<Failure, EventQuery> toQuery(String eventType, String status, String from, String to,
+                                                       String cursor, int limit) {
+        if (eventType == null || eventType.isBlank()) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Event type is required"));
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Limit must be between 1 and " + MAX_LIMIT)
+                    .with("limit", limit));
+        }
+        String normalizedStatus = status == null || status.isBlank() ? null : status.toUpperCase(Locale.ROOT);
+        if (normalizedStatus != null && !STATUSES.contains(normalizedStatus)) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Status must be SUCCESS or FAILURE")
+                    .with("status", status));
+        }
+        EventCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            var decoded = EventCursor.decode(cursor);
+            if (decoded.isEmpty()) {
+                return Either.left(Failure.of(ErrorCode.VALIDATION, "Invalid cursor"));
+            }
+            after = decoded.get();
+        }
+        Instant fromInstant;
+        Instant toInstant;
+        try {
+            fromInstant = from == null || from.isBlank() ? null : Instant.parse(from);
+            toInstant = to == null || to.isBlank() ? null : Instant.parse(to);
+        } catch (DateTimeParseException e) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Time range must be given as ISO-8601 instants"));
+        }
+        if (fromInstant != null && toInstant != null && !fromInstant.isBefore(toInstant)) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Time range is empty")
+                    .with("from", from).with("to", to));
+        }
+        return Either.right(new EventQuery(eventType, normalizedStatus, fromInstant, toInstant, after, limit));
+    }
+
+    private Either<Failure, EventSearch> toSearch(String eventType, String contains, String exists, List<String> equals,
+                                                  String from, String to, Long cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Limit must be between 1 and " + MAX_LIMIT)
+                    .with("limit", limit));
+        }
+        String document = null;
+        if (contains != null && !contains.isBlank()) {
+            try {
+                var node = objectMapper.readTree(contains);
+                if (!node.isObject()) {
+                    return Either.left(Failure.of(ErrorCode.VALIDATION, "contains must be a JSON object"));
+                }
+                document = node.toString();
+            } catch (Exception e) {
+                return Either.left(Failure.of(ErrorCode.VALIDATION, "contains must be a JSON object"));
+            }
+        }
+        EventDataPath existsPath = null;
+        if (exists != null && !exists.isBlank()) {
+            var parsed = EventDataPath.parse(exists);
+            if (parsed.isEmpty()) {
+                return Either.left(Failure.of(ErrorCode.VALIDATION, "Invalid path").with("exists", exists));
+            }
+            existsPath = parsed.get();
+        }
+        Map<EventDataPath, String> equalities = new LinkedHashMap<>();
+        for (String entry : equals == null ? List.<String>of() : equals) {
+            int separator = entry.indexOf(':');
+            var path = separator < 0 ? Optional.<EventDataPath>empty() : EventDataPath.parse(entry.substring(0, separator));
+            if (path.isEmpty()) {
+                return Either.left(Failure.of(ErrorCode.VALIDATION, "Equality filters must be given as path:value")
+                        .with("eq", entry));
+            }
+            equalities.put(path.get(), entry.substring(separator + 1));
+        }
+        if (document == null && existsPath == null && equalities.isEmpty()) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "At least one of contains, exists or eq is required"));
+        }
+        Instant fromInstant;
+        Instant toInstant;
+        try {
+            fromInstant = from == null || from.isBlank() ? null : Instant.parse(from);
+            toInstant = to == null || to.isBlank() ? null : Instant.parse(to);
+        } catch (DateTimeParseException e) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Time range must be given as ISO-8601 instants"));
+        }
+        String type = eventType == null || eventType.isBlank() ? null : eventType;
+        return Either.right(new EventSearch(type, document, existsPath, Collections.unmodifiableMap(equalities), fromInstant, toInstant,
+                cursor, limit));
+    }
+
+    private EventGroupDTO toGroup(List<AppEventRepository.EventRow> rows, String eventType) {
+        var head = rows.stream().filter(row -> eventType.equals(row.eventType())).findFirst().orElse(rows.getFirst());
+        JsonNode data = readData(head.eventData());
+        var events = rows.stream()
+                .map(row -> new EventItemDTO(row.eventType(), row.description(), row.eventData(), row.createdAt()))
+                .toList();
+        return new EventGroupDTO(
+                head.serial(),
+                data.path("methodName").asText(null),
+                data.hasNonNull("duration") ? data.get("duration").asLong() : null,
+                data.path("status").asText(null),
+                events);
+    }
+
+    private JsonNode readData(String eventData) {
+        if (eventData == null) {
+            return objectMapper.missingNode();
+        }
+        try {
+            return objectMapper.readTree(eventData);
+        } catch (Exception e) {
+            return objectMapper.missingNode();
+        }
+    }
+}
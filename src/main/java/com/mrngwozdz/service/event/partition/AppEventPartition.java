@@ -0,0 +1,42 @@
+package com.mrngwozdz.service.event.partition;
+
+import com.mrngwozdz.configuration.properties.EventProperties.PartitionInterval;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+public record AppEventPartition(String name, LocalDateTime from, LocalDateTime to) {
+
+    private static final Pattern BOUND = Pattern.compile("FOR VALUES FROM \\((.+?)\\) TO \\((.+?)\\)");
+    private static final DateTimeFormatter NAME_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public static Optional<AppEventPartition> parse(String name, String bound) {
+        var matcher = BOUND.matcher(bound == null ? "" : bound);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        var to = parseValue(matcher.group(2));
+        if (to == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new AppEventPartition(name, parseValue(matcher.group(1)), to));
+    }
+
+    public static AppEventPartition next(LocalDateTime start, PartitionInterval interval) {
+        var day = start.toLocalDate();
+        var end = switch (interval) {
+            case DAY -> day.plusDays(1);
+            case MONTH -> day.withDayOfMonth(1).plusMonths(1);
+        };
+        return new AppEventPartition("app_events_p" + NAME_SUFFIX.format(start), start, end.atStartOfDay());
+    }
+
+    private static LocalDateTime parseValue(String value) {
+        if (!value.startsWith("'") || !value.endsWith("'")) {
+            return null;
+        }
+        return LocalDateTime.parse(value.substring(1, value.length() - 1).replace(' ', 'T'));
+    }
+}
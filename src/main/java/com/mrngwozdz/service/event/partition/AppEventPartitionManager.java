@@ -0,0 +1,163 @@
+package com.mrngwozdz.service.event.partition;
+
+import com.mrngwozdz.configuration.properties.EventProperties;
+import com.mrngwozdz.service.minio.MinioService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@ApplicationScoped
+public class AppEventPartitionManager {
+
+    private static final String CHECK_VIOLATION = "23514";
+
+    private final AppEventPartitionRepository repository;
+    private final MinioService minioService;
+    private final EventProperties.Partitions properties;
+    private final Counter created;
+    private final Counter archived;
+    private final Counter archivedRows;
+    private final AtomicLong defaultRows = new AtomicLong();
+
+    @Inject
+    public AppEventPartitionManager(AppEventPartitionRepository repository, MinioService minioService,
+                                    EventProperties eventProperties, MeterRegistry registry) {
+        this.repository = repository;
+        this.minioService = minioService;
+        this.properties = eventProperties.partitions();
+
+        this.created = registry.counter("app.events.partitions.created");
+        this.archived = registry.counter("app.events.partitions.archived");
+        this.archivedRows = registry.counter("app.events.partitions.archived.rows");
+        registry.gauge("app.events.partitions.default.rows", defaultRows);
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (properties.enabled()) {
+            Thread.ofVirtual().name("app-events-partitions").start(this::maintain);
+        }
+    }
+
+    @Scheduled(every = "${events.partitions.maintenance-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void maintain() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            var lock = repository.tryLockMaintenance();
+            if (lock.isEmpty()) {
+                log.debug("app_events partitions are maintained by another node");
+                return;
+            }
+            try {
+                var now = LocalDateTime.now();
+                var partitions = repository.list();
+                createAhead(partitions, now);
+                archiveExpired(partitions, now.minus(properties.retention()));
+                checkDefault();
+            } finally {
+                repository.unlockMaintenance(lock.get());
+            }
+        } catch (Exception e) {
+            log.error("app_events partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void createAhead(List<AppEventPartition> partitions, LocalDateTime now) throws Exception {
+        var start = partitions.isEmpty() ? now.toLocalDate().atStartOfDay() : partitions.getLast().to();
+        var horizon = now;
+        for (int i = 0; i <= properties.ahead(); i++) {
+            horizon = AppEventPartition.next(horizon, properties.interval()).to();
+        }
+        while (start.isBefore(horizon)) {
+            var partition = AppEventPartition.next(start, properties.interval());
+            try {
+                repository.create(partition);
+            } catch (SQLException e) {
+                if (CHECK_VIOLATION.equals(e.getSQLState())) {
+                    log.error("Cannot create app_events partition {}: {} holds rows in [{}, {}), move them out first",
+                            partition.name(), AppEventPartitionRepository.DEFAULT_PARTITION, partition.from(), partition.to());
+                    return;
+                }
+                throw e;
+            }
+            created.increment();
+            log.info("Created app_events partition {} [{}, {})", partition.name(), partition.from(), partition.to());
+            start = partition.to();
+        }
+    }
+
+    // rows only land in the default partition when no range partition covers them, and they are never archived
+    void checkDefault() throws SQLException {
+        long rows = repository.countDefault();
+        defaultRows.set(rows);
+        if (rows > 0) {
+            log.warn("{} holds {} rows outside every app_events range partition; they are not archived",
+                    AppEventPartitionRepository.DEFAULT_PARTITION, rows);
+        }
+    }
+
+    void archiveExpired(List<AppEventPartition> partitions, LocalDateTime cutoff) throws Exception {
+        for (var partition : partitions) {
+            if (partition.to().isAfter(cutoff)) {
+                break;
+            }
+            archive(partition);
+        }
+    }
+
+    private void archive(AppEventPartition partition) throws Exception {
+        Path file = Files.createTempFile(partition.name(), ".ndjson.gz");
+        try {
+            long rows;
+            try (var writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+                rows = repository.export(partition, writer);
+            }
+
+            String objectName = properties.archivePrefix() + partition.name() + ".ndjson.gz";
+            try (InputStream stream = Files.newInputStream(file)) {
+                var upload = minioService.uploadObject(stream, Files.size(file), objectName, "application/gzip");
+                if (upload.isLeft()) {
+                    log.error("Keeping app_events partition {}: archive upload failed: {}",
+                            partition.name(), upload.getLeft().message());
+                    return;
+                }
+            }
+
+            repository.drop(partition);
+            archived.increment();
+            archivedRows.increment(rows);
+            log.info("Archived {} rows of app_events partition {} to {} and dropped it", rows, partition.name(), objectName);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary archive {}: {}", file, e.getMessage());
+        }
+    }
+}
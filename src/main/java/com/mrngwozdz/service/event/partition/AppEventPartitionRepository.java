@@ -0,0 +1,140 @@
+package com.mrngwozdz.service.event.partition;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@ApplicationScoped
+public class AppEventPartitionRepository {
+
+    static final String DEFAULT_PARTITION = "app_events_default";
+
+    private static final long MAINTENANCE_LOCK = 0x4150_5045_5654L;
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_COUNT_LIMIT = 10_000;
+
+    private final DataSource dataSource;
+
+    @Inject
+    public AppEventPartitionRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public List<AppEventPartition> list() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("""
+                     SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+                     FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                     WHERE i.inhparent = 'app_events'::regclass
+                     """);
+             var result = statement.executeQuery()) {
+            List<AppEventPartition> partitions = new ArrayList<>();
+            while (result.next()) {
+                String name = result.getString(1);
+                if ("DEFAULT".equals(result.getString(2))) {
+                    continue;
+                }
+                AppEventPartition.parse(name, result.getString(2)).ifPresentOrElse(partitions::add,
+                        () -> log.warn("Skipping app_events partition {} with unsupported bound", name));
+            }
+            partitions.sort(Comparator.comparing(AppEventPartition::to));
+            return partitions;
+        }
+    }
+
+    public void create(AppEventPartition partition) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + quote(partition.name())
+                     + " PARTITION OF app_events (PRIMARY KEY (id)) FOR VALUES FROM ('" + Timestamp.valueOf(partition.from())
+                     + "') TO ('" + Timestamp.valueOf(partition.to()) + "')")) {
+            statement.execute();
+        }
+    }
+
+    public long countDefault() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             var statement = connection.prepareStatement(
+                     "SELECT count(*) FROM (SELECT 1 FROM " + quote(DEFAULT_PARTITION) + " LIMIT ?) d")) {
+            statement.setInt(1, DEFAULT_COUNT_LIMIT);
+            try (var result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    public long export(AppEventPartition partition, BufferedWriter writer) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (var statement = connection.prepareStatement(
+                    "SELECT to_jsonb(e)::text FROM " + quote(partition.name()) + " e ORDER BY id")) {
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                long rows = 0;
+                try (var result = statement.executeQuery()) {
+                    while (result.next()) {
+                        writer.write(result.getString(1));
+                        writer.newLine();
+                        rows++;
+                    }
+                }
+                return rows;
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    public void drop(AppEventPartition partition) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE app_events DETACH PARTITION " + quote(partition.name()));
+            statement.execute("DROP TABLE " + quote(partition.name()));
+        }
+    }
+
+    public Optional<Connection> tryLockMaintenance() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try (var statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, MAINTENANCE_LOCK);
+            try (var result = statement.executeQuery()) {
+                if (result.next() && result.getBoolean(1)) {
+                    return Optional.of(connection);
+                }
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connection.close();
+        return Optional.empty();
+    }
+
+    // release before closing: a pooled connection keeps its session and with it the lock
+    public void unlockMaintenance(Connection connection) {
+        try (connection; var statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, MAINTENANCE_LOCK);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Failed to release app_events maintenance lock: {}", e.getMessage());
+        }
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
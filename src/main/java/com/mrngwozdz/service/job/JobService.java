@@ -0,0 +1,78 @@
+package com.mrngwozdz.service.job;
+
+import com.mrngwozdz.api.model.request.FileUploadRequest;
+import com.mrngwozdz.api.model.request.MessageRequest;
+import com.mrngwozdz.api.model.response.JobResponse;
+import com.mrngwozdz.api.model.response.ProcessMessage;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.publicmessage.PublicMessageService;
+import com.mrngwozdz.service.publicmessage.StoredMessage;
+import io.vavr.control.Either;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+
+@Slf4j
+@ApplicationScoped
+public class JobService {
+
+    private final PublicMessageService publicMessageService;
+    private final ProcessingJobRepository repository;
+    private final JobWorker worker;
+
+    @Inject
+    public JobService(PublicMessageService publicMessageService, ProcessingJobRepository repository, JobWorker worker) {
+        this.publicMessageService = publicMessageService;
+        this.repository = repository;
+        this.worker = worker;
+    }
+
+    public Either<Failure, Success<JobResponse>> submit(MessageRequest request) {
+        return publicMessageService.store(request)
+                .flatMap(this::enqueue);
+    }
+
+    public Either<Failure, Success<JobResponse>> submit(FileUploadRequest request) {
+        return publicMessageService.store(request)
+                .flatMap(this::enqueue);
+    }
+
+    public Either<Failure, Success<JobResponse>> get(UUID id) {
+        return repository.findByIdOptional(id)
+                .map(JobService::toResponse)
+                .map(Success::of)
+                .<Either<Failure, Success<JobResponse>>>map(Either::right)
+                .orElseGet(() -> Either.left(Failure.of(ErrorCode.NOT_FOUND, "Job not found").with("id", id.toString())));
+    }
+
+    private Either<Failure, Success<JobResponse>> enqueue(StoredMessage message) {
+        ProcessingJobEntity job;
+        try {
+            job = repository.create(message);
+        } catch (Exception e) {
+            log.error("Failed to create job: {}", e.getMessage(), e);
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to create job: " + e.getMessage()));
+        }
+
+        log.info("Created job {}", job.getId());
+        worker.wake();
+        return Either.right(Success.of(toResponse(job)));
+    }
+
+    private static JobResponse toResponse(ProcessingJobEntity job) {
+        return new JobResponse(
+                job.getId(),
+                job.getStatus().name(),
+                job.getResult() != null ? new ProcessMessage(job.getResult()) : null,
+                job.getErrorCode(),
+                job.getErrorMessage(),
+                job.getAttempts(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
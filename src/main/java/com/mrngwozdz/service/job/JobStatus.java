@@ -0,0 +1,8 @@
+package com.mrngwozdz.service.job;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,139 @@
+package com.mrngwozdz.service.job;
+
+import com.mrngwozdz.configuration.properties.JobProperties;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.service.publicmessage.PublicMessageService;
+import com.mrngwozdz.service.publicmessage.StoredMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@ApplicationScoped
+public class JobWorker {
+
+    private static final Set<ErrorCode> TRANSIENT = Set.of(ErrorCode.TIMEOUT, ErrorCode.UNAVAILABLE);
+
+    private final ProcessingJobRepository repository;
+    private final PublicMessageService publicMessageService;
+    private final JobProperties properties;
+    private final ExecutorService workers;
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger busy = new AtomicInteger();
+    private final ReentrantLock claimLock = new ReentrantLock();
+    private final MeterRegistry registry;
+
+    @Inject
+    public JobWorker(ProcessingJobRepository repository, PublicMessageService publicMessageService,
+                     JobProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.publicMessageService = publicMessageService;
+        this.properties = properties;
+        this.registry = registry;
+        var threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.workers(), runnable -> {
+            Thread thread = new Thread(runnable, "job-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("jobs.workers.busy", busy, AtomicInteger::get).register(registry);
+    }
+
+    public void wake() {
+        dispatcher.execute(this::poll);
+    }
+
+    @Scheduled(every = "${jobs.poll-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void poll() {
+        if (!claimLock.tryLock()) {
+            return;
+        }
+        try {
+            int abandoned = repository.abandonExpired(properties.maxAttempts());
+            if (abandoned > 0) {
+                log.warn("Failed {} jobs abandoned on their last attempt", abandoned);
+            }
+
+            int free = properties.workers() - busy.get();
+            if (free <= 0) {
+                return;
+            }
+            for (var job : repository.claim(free, properties.lease(), properties.maxAttempts())) {
+                busy.incrementAndGet();
+                workers.execute(() -> run(job));
+            }
+        } catch (Exception e) {
+            log.error("Failed to claim jobs: {}", e.getMessage(), e);
+        } finally {
+            claimLock.unlock();
+        }
+    }
+
+    private void run(ProcessingJobEntity job) {
+        log.info("Running job {} (attempt {})", job.getId(), job.getAttempts());
+        try {
+            var message = new StoredMessage(job.getText(), job.getImageObject(), job.getImageDigest());
+            var result = publicMessageService.process(message);
+            if (result.isRight()) {
+                repository.complete(job.getId(), job.getAttempts(), result.get().value().value());
+                count(JobStatus.SUCCEEDED);
+            } else {
+                onFailure(job, result.getLeft());
+            }
+        } catch (RuntimeException e) {
+            log.error("Job {} failed: {}", job.getId(), e.getMessage(), e);
+            onFailure(job, Failure.of(ErrorCode.UNKNOWN, "Job failed: " + e.getMessage()));
+        } finally {
+            busy.decrementAndGet();
+            wake();
+        }
+    }
+
+    private void onFailure(ProcessingJobEntity job, Failure failure) {
+        if (TRANSIENT.contains(failure.code()) && job.getAttempts() < properties.maxAttempts()) {
+            var availableAt = Instant.now().plus(properties.retryBackoff().multipliedBy(job.getAttempts()));
+            log.warn("Job {} failed with {}, retrying at {}", job.getId(), failure.code(), availableAt);
+            repository.retry(job.getId(), job.getAttempts(), failure, availableAt);
+            count(JobStatus.PENDING);
+        } else {
+            log.warn("Job {} failed: {}", job.getId(), failure.message());
+            repository.fail(job.getId(), job.getAttempts(), failure);
+            count(JobStatus.FAILED);
+        }
+    }
+
+    private void count(JobStatus outcome) {
+        registry.counter("jobs.processed", "outcome", outcome == JobStatus.PENDING ? "retried" : outcome.name().toLowerCase())
+                .increment();
+    }
+
+    @PreDestroy
+    void close() {
+        dispatcher.shutdownNow();
+        workers.shutdown();
+        try {
+            // jobs still running keep their lease and are retried after it expires
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.mrngwozdz.service.job;
+
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.service.publicmessage.StoredMessage;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// updates are fenced by the attempt number, so a worker whose lease expired cannot overwrite its successor's outcome
+@ApplicationScoped
+public class ProcessingJobRepository implements PanacheRepositoryBase<ProcessingJobEntity, UUID> {
+
+    @Transactional
+    public ProcessingJobEntity create(StoredMessage message) {
+        var now = Instant.now();
+        var job = new ProcessingJobEntity();
+        job.setId(UUID.randomUUID());
+        job.setStatus(JobStatus.PENDING);
+        job.setText(message.text());
+        job.setImageObject(message.imageObjectName());
+        job.setImageDigest(message.imageDigest());
+        job.setAvailableAt(now);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        persist(job);
+        return job;
+    }
+
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<ProcessingJobEntity> claim(int limit, Duration lease, int maxAttempts) {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE processing_jobs j
+                        SET status = 'RUNNING', attempts = j.attempts + 1, updated_at = now(),
+                            locked_until = now() + make_interval(secs => ?2)
+                        WHERE j.id IN (
+                            SELECT id FROM processing_jobs
+                            WHERE available_at <= now() AND attempts < ?3
+                              AND (status = 'PENDING' OR (status = 'RUNNING' AND locked_until < now()))
+                            ORDER BY available_at
+                            LIMIT ?1
+                            FOR UPDATE SKIP LOCKED)
+                        RETURNING j.*
+                        """, ProcessingJobEntity.class)
+                .setParameter(1, limit)
+                .setParameter(2, (double) lease.toSeconds())
+                .setParameter(3, maxAttempts)
+                .getResultList();
+    }
+
+    @Transactional
+    public int abandonExpired(int maxAttempts) {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE processing_jobs
+                        SET status = 'FAILED', error_code = 'TIMEOUT', error_message = 'Job abandoned after its last attempt',
+                            finished_at = now(), updated_at = now(), locked_until = NULL
+                        WHERE status = 'RUNNING' AND locked_until < now() AND attempts >= ?1
+                        """)
+                .setParameter(1, maxAttempts)
+                .executeUpdate();
+    }
+
+    @Transactional
+    public boolean complete(UUID id, int attempt, String result) {
+        return update("""
+                        status = ?1, result = ?2, errorCode = null, errorMessage = null,
+                        finishedAt = ?3, updatedAt = ?3, lockedUntil = null
+                        where id = ?4 and attempts = ?5 and status = ?6""",
+                JobStatus.SUCCEEDED, result, Instant.now(), id, attempt, JobStatus.RUNNING) == 1;
+    }
+
+    @Transactional
+    public boolean fail(UUID id, int attempt, Failure failure) {
+        return update("""
+                        status = ?1, errorCode = ?2, errorMessage = ?3,
+                        finishedAt = ?4, updatedAt = ?4, lockedUntil = null
+                        where id = ?5 and attempts = ?6 and status = ?7""",
+                JobStatus.FAILED, failure.code().name(), failure.message(), Instant.now(), id, attempt, JobStatus.RUNNING) == 1;
+    }
+
+    @Transactional
+    public boolean retry(UUID id, int attempt, Failure failure, Instant availableAt) {
+        return update("""
+                        status = ?1, errorCode = ?2, errorMessage = ?3,
+                        availableAt = ?4, updatedAt = ?5, lockedUntil = null
+                        where id = ?6 and attempts = ?7 and status = ?8""",
+                JobStatus.PENDING, failure.code().name(), failure.message(), availableAt, Instant.now(), id, attempt,
+                JobStatus.RUNNING) == 1;
+    }
+}
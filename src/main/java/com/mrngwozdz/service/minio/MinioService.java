@@ -1,10 +1,13 @@
 package com.mrngwozdz.service.minio;
 
 import com.mrngwozdz.configuration.properties.MinioProperties;
+import com.mrngwozdz.platform.io.SpooledContent;
+import com.mrngwozdz.platform.result.ErrorCode;
 import com.mrngwozdz.platform.result.Failure;
 import com.mrngwozdz.platform.result.Success;
 import com.mrngwozdz.service.minio.ensurebucketexists.EnsureBucketExistsHelper;
 import com.mrngwozdz.service.minio.uploadimage.UploadImageHelper;
+import com.mrngwozdz.service.minio.uploadimage.UploadImageMethods;
 import com.mrngwozdz.service.minio.uploadimage.UploadImageSteps;
 import io.minio.MinioClient;
 import io.minio.GetPresignedObjectUrlArgs;
@@ -14,6 +17,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.io.InputStream;
 
 import static com.mrngwozdz.service.minio.ensurebucketexists.EnsureBucketExistsSteps.checkIfBucketExist;
@@ -26,11 +30,13 @@ public class MinioService {
     private final MinioClient minioClient;
     private final String bucketName;
     private final String endpoint;
+    private final boolean contentAddressed;
 
     @Inject
     public MinioService(MinioProperties minioProperties) {
         this.bucketName = minioProperties.bucketName();
         this.endpoint = minioProperties.endpoint();
+        this.contentAddressed = minioProperties.contentAddressed();
         this.minioClient = MinioClient.builder()
                 .endpoint(minioProperties.endpoint())
                 .credentials(minioProperties.accessKey(), minioProperties.secretKey())
@@ -56,19 +62,51 @@ public class MinioService {
     }
 
     public Either<Failure, String> uploadImage(InputStream imageStream, String fileName, String contentType) {
-        return uploadImageInternal(imageStream, fileName, contentType);
+        return uploadImageInternal(imageStream, -1, fileName, contentType);
     }
 
-    private Either<Failure, String> uploadImageInternal(InputStream imageStream, String fileName, String contentType) {
+    public Either<Failure, String> uploadImage(InputStream imageStream, long size, String fileName, String contentType) {
+        return uploadImageInternal(imageStream, size, fileName, contentType);
+    }
+
+    public Either<Failure, String> uploadImage(SpooledContent content, String fileName, String contentType) {
+        try (InputStream imageStream = content.openStream()) {
+            if (!contentAddressed) {
+                return uploadImageInternal(imageStream, content.size(), fileName, contentType);
+            }
+
+            UploadImageHelper helper = new UploadImageHelper()
+                    .setFileName(fileName)
+                    .setContentType(contentType)
+                    .setSize(content.size());
+
+            return UploadImageSteps.prepareContentAddressedObjectName(helper, content.sha256(), fileName)
+                    .flatMap(h -> UploadImageSteps.checkIfObjectExists(h, minioClient, bucketName))
+                    .flatMap(h -> UploadImageSteps.uploadImageToMinioIfMissing(h, minioClient, bucketName, imageStream))
+                    .map(UploadImageHelper::getObjectName);
+        } catch (IOException e) {
+            log.error("Failed to read image content: {}", e.getMessage(), e);
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to read image content: " + e.getMessage()));
+        }
+    }
+
+    private Either<Failure, String> uploadImageInternal(InputStream imageStream, long size, String fileName, String contentType) {
         UploadImageHelper helper = new UploadImageHelper()
                 .setFileName(fileName)
-                .setContentType(contentType);
+                .setContentType(contentType)
+                .setSize(size);
 
         return UploadImageSteps.prepareObjectName(helper, fileName)
                 .flatMap(h -> UploadImageSteps.uploadImageToMinio(h, minioClient, bucketName, imageStream))
                 .map(UploadImageHelper::getObjectName);
     }
 
+    public Either<Failure, String> uploadObject(InputStream stream, long size, String objectName, String contentType) {
+        log.info("Uploading object to MinIO: bucket={}, object={}", bucketName, objectName);
+        return UploadImageMethods.uploadObject(minioClient, bucketName, objectName, stream, size, contentType)
+                .map(ignored -> objectName);
+    }
+
     public String getShortPresignedUrl(String objectName) {
         try {
             String url = minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
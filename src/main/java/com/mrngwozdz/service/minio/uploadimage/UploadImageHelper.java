@@ -7,6 +7,8 @@ public final class UploadImageHelper {
     private String objectName;
     private String fileName;
     private String contentType;
+    private long size = -1;
+    private boolean objectExists;
 
     public UploadImageHelper setObjectName(String objectName) {
         this.objectName = objectName;
@@ -22,4 +24,14 @@ public final class UploadImageHelper {
         this.contentType = contentType;
         return this;
     }
+
+    public UploadImageHelper setObjectExists(boolean objectExists) {
+        this.objectExists = objectExists;
+        return this;
+    }
+
+    public UploadImageHelper setSize(long size) {
+        this.size = size;
+        return this;
+    }
 }
\ No newline at end of file
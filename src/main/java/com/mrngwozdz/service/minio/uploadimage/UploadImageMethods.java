@@ -4,6 +4,7 @@ import com.mrngwozdz.platform.result.ErrorCode;
 import com.mrngwozdz.platform.result.Failure;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
 import io.minio.errors.*;
 import io.vavr.control.Either;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,8 @@ import java.util.UUID;
 @Slf4j
 public class UploadImageMethods {
 
+    private static final long UNKNOWN_SIZE_PART_SIZE = 10485760; // 10MB part size
+
     private UploadImageMethods() {}
 
     public static Either<Failure, String> generateObjectName(String fileName) {
@@ -31,13 +34,40 @@ public class UploadImageMethods {
         }
     }
 
+    public static Either<Failure, String> generateContentAddressedObjectName(String sha256, String fileName) {
+        if (sha256 == null || sha256.isBlank()) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Content digest is required for content-addressed storage"));
+        }
+        String extension = getFileExtension(fileName).toLowerCase();
+        return Either.right(String.format("images/%s%s", sha256, extension));
+    }
+
+    public static Either<Failure, Boolean> objectExists(MinioClient minioClient, String bucketName, String objectName) {
+        return executeMinioOperation(() -> {
+            try {
+                minioClient.statObject(StatObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build());
+                return true;
+            } catch (ErrorResponseException e) {
+                if ("NoSuchKey".equals(e.errorResponse().code())) {
+                    return false;
+                }
+                throw e;
+            }
+        }, "checking object existence", UploadImageMethods::mapErrorResponseException);
+    }
+
     public static Either<Failure, Void> uploadObject(MinioClient minioClient, String bucketName,
-                                                    String objectName, InputStream imageStream, String contentType) {
+                                                    String objectName, InputStream imageStream,
+                                                    long size, String contentType) {
         return executeMinioOperation(() -> {
             minioClient.putObject(PutObjectArgs.builder()
                     .bucket(bucketName)
                     .object(objectName)
-                    .stream(imageStream, -1, 10485760) // 10MB part size
+                    // known size lets MinIO pick the part size and skip its own part buffer
+                    .stream(imageStream, size, size >= 0 ? -1 : UNKNOWN_SIZE_PART_SIZE)
                     .contentType(contentType)
                     .build());
             return null;
@@ -18,10 +18,29 @@ public class UploadImageSteps {
         return generateObjectName(fileName).map(h::setObjectName);
     }
 
+    public static Either<Failure, UploadImageHelper> prepareContentAddressedObjectName(UploadImageHelper h, String sha256,
+                                                                                       String fileName) {
+        return generateContentAddressedObjectName(sha256, fileName).map(h::setObjectName);
+    }
+
+    public static Either<Failure, UploadImageHelper> checkIfObjectExists(UploadImageHelper h, MinioClient minioClient,
+                                                                         String bucketName) {
+        return objectExists(minioClient, bucketName, h.getObjectName()).map(h::setObjectExists);
+    }
+
+    public static Either<Failure, UploadImageHelper> uploadImageToMinioIfMissing(UploadImageHelper h, MinioClient minioClient,
+                                                                                 String bucketName, InputStream imageStream) {
+        if (h.isObjectExists()) {
+            log.info("Image already stored in MinIO, skipping upload: bucket={}, object={}", bucketName, h.getObjectName());
+            return Either.right(h);
+        }
+        return uploadImageToMinio(h, minioClient, bucketName, imageStream);
+    }
+
     public static Either<Failure, UploadImageHelper> uploadImageToMinio(UploadImageHelper h, MinioClient minioClient,
                                                                         String bucketName, InputStream imageStream) {
         log.info("Uploading image to MinIO: bucket={}, object={}", bucketName, h.getObjectName());
-        return uploadObject(minioClient, bucketName, h.getObjectName(), imageStream, h.getContentType())
+        return uploadObject(minioClient, bucketName, h.getObjectName(), imageStream, h.getSize(), h.getContentType())
                 .map(ignored -> h);
     }
 }
\ No newline at end of file
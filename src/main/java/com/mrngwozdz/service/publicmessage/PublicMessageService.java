@@ -3,19 +3,25 @@ package com.mrngwozdz.service.publicmessage;
 import com.mrngwozdz.api.model.request.FileUploadRequest;
 import com.mrngwozdz.api.model.request.MessageRequest;
 import com.mrngwozdz.api.model.response.ProcessMessage;
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.configuration.properties.UploadProperties;
 import com.mrngwozdz.integration.openai.OpenAiService;
 import com.mrngwozdz.platform.result.Failure;
 import com.mrngwozdz.platform.result.Success;
 import com.mrngwozdz.service.minio.MinioService;
 import com.mrngwozdz.service.publicmessage.mapper.FileUploadRequestMapper;
+import com.mrngwozdz.service.publicmessage.process.ProcessHelper;
 import com.mrngwozdz.service.publicmessage.process.ProcessSteps;
-import com.mrngwozdz.service.publicmessage.process.ProcessValidator;
+import io.smallrye.mutiny.Multi;
 import io.vavr.control.Either;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.mrngwozdz.service.publicmessage.process.ProcessValidator.validateRequest;
 
 @Slf4j
@@ -26,25 +32,40 @@ public class PublicMessageService {
     private final OpenAiService openAiService;
     private final String openAiToken;
     private final String openAiModel;
+    private final boolean multiImage;
+    private final UploadProperties uploadProperties;
 
     @Inject
     public PublicMessageService(MinioService minioService, OpenAiService openAiService,
                                @ConfigProperty(name = "openai.token") String openAiToken,
-                               @ConfigProperty(name = "openai.model") String openAiModel) {
+                               @ConfigProperty(name = "openai.model") String openAiModel,
+                               OpenAiProperties openAiProperties,
+                               UploadProperties uploadProperties) {
         this.minioService = minioService;
         this.openAiService = openAiService;
         this.openAiToken = openAiToken;
         this.openAiModel = openAiModel;
+        this.multiImage = openAiProperties.multiImage();
+        this.uploadProperties = uploadProperties;
     }
 
     public Either<Failure, Success<ProcessMessage>> process(MessageRequest request) {
-        return validateRequest(request)
-                .map(h -> h.setMinioService(minioService).setOpenAiService(openAiService))
-                .map(h -> h.setToken(openAiToken).setModel(openAiModel))
-                .flatMap(ProcessSteps::uploadImageToStorage)
-                .flatMap(ProcessSteps::buildOpenAiRequest)
-                .flatMap(ProcessSteps::callOpenAiService)
-                .map(response -> Success.of(new ProcessMessage(response)));
+        try {
+            return prepareOpenAiRequest(request)
+                    .flatMap(ProcessSteps::callOpenAiService)
+                    .map(response -> Success.of(new ProcessMessage(response)));
+        } finally {
+            releaseImageContent(request);
+        }
+    }
+
+    public Either<Failure, Multi<String>> stream(MessageRequest request) {
+        try {
+            return prepareOpenAiRequest(request)
+                    .map(ProcessSteps::streamOpenAiService);
+        } finally {
+            releaseImageContent(request);
+        }
     }
 
 
@@ -52,14 +73,98 @@ public class PublicMessageService {
         log.info("Processing file upload request - fileName: {}, hasFile: {}, hasText: {}",
                 request.fileName, request.file != null, request.text != null);
 
-        return FileUploadRequestMapper.INSTANCE.toMessageRequestWithFileData(request)
-                .flatMap(ProcessValidator::validateRequest)
-                .map(h -> h.setMinioService(minioService).setOpenAiService(openAiService))
-                .map(h -> h.setToken(openAiToken).setModel(openAiModel))
-                .flatMap(ProcessSteps::uploadImageToStorage)
+        return FileUploadRequestMapper.INSTANCE.toMessageRequestWithFileData(request, uploadProperties)
+                .flatMap(this::process);
+    }
+
+    public Either<Failure, Multi<String>> stream(FileUploadRequest request) {
+        log.info("Streaming file upload request - fileName: {}, hasFile: {}, hasText: {}",
+                request.fileName, request.file != null, request.text != null);
+
+        return FileUploadRequestMapper.INSTANCE.toMessageRequestWithFileData(request, uploadProperties)
+                .flatMap(this::stream);
+    }
+
+    public Either<Failure, StoredMessage> store(MessageRequest request) {
+        try {
+            return validateRequest(request)
+                    .map(h -> h.setMinioService(minioService))
+                    .flatMap(ProcessSteps::storeImage)
+                    .map(h -> new StoredMessage(h.getText(), h.getImageObjectName().orElse(null), h.getImageDigest().orElse(null)));
+        } finally {
+            releaseImageContent(request);
+        }
+    }
+
+    public Either<Failure, StoredMessage> store(FileUploadRequest request) {
+        return FileUploadRequestMapper.INSTANCE.toMessageRequestWithFileData(request, uploadProperties)
+                .flatMap(this::store);
+    }
+
+    public Either<Failure, Success<ProcessMessage>> process(StoredMessage message) {
+        var helper = new ProcessHelper()
+                .setText(message.text())
+                .setOutputExample("")
+                .setImageObjectName(message.imageObjectName())
+                .setImageDigest(message.imageDigest())
+                .setMinioService(minioService)
+                .setOpenAiService(openAiService)
+                .setToken(openAiToken)
+                .setModel(openAiModel);
+
+        return ProcessSteps.presignStoredImage(helper)
+                .flatMap(ProcessSteps::buildOpenAiRequest)
+                .flatMap(ProcessSteps::callOpenAiService)
+                .map(response -> Success.of(new ProcessMessage(response)));
+    }
+
+    public Either<Failure, Success<ProcessMessage>> process(String text, List<String> imageObjectNames) {
+        if (!multiImage && imageObjectNames.size() > 1) {
+            return processEach(text, imageObjectNames);
+        }
+        var helper = new ProcessHelper()
+                .setText(text)
+                .setOutputExample("")
+                .setImageObjectNames(imageObjectNames)
+                .setMinioService(minioService)
+                .setOpenAiService(openAiService)
+                .setToken(openAiToken)
+                .setModel(openAiModel);
+
+        return ProcessSteps.presignStoredImages(helper)
                 .flatMap(ProcessSteps::buildOpenAiRequest)
                 .flatMap(ProcessSteps::callOpenAiService)
                 .map(response -> Success.of(new ProcessMessage(response)));
     }
 
+    private Either<Failure, Success<ProcessMessage>> processEach(String text, List<String> imageObjectNames) {
+        List<String> responses = new ArrayList<>();
+        for (String imageObjectName : imageObjectNames) {
+            var result = process(new StoredMessage(text, imageObjectName, null));
+            if (result.isLeft()) {
+                return result;
+            }
+            responses.add(result.get().value().value());
+        }
+        return Either.right(Success.of(new ProcessMessage(String.join("\n\n", responses))));
+    }
+
+    private Either<Failure, ProcessHelper> prepareOpenAiRequest(MessageRequest request) {
+        return validateRequest(request)
+                .map(h -> h.setMinioService(minioService).setOpenAiService(openAiService))
+                .map(h -> h.setToken(openAiToken).setModel(openAiModel))
+                .flatMap(ProcessSteps::uploadImageToStorage)
+                .flatMap(ProcessSteps::buildOpenAiRequest);
+    }
+
+    private static void releaseImageContent(MessageRequest request) {
+        if (request != null && request.getImageData() != null) {
+            try {
+                request.getImageData().close();
+            } catch (Exception e) {
+                log.warn("Failed to release image content: {}", e.getMessage());
+            }
+        }
+    }
+
 }
@@ -0,0 +1,8 @@
+package com.mrngwozdz.service.publicmessage;
+
+public record StoredMessage(
+        String text,
+        String imageObjectName,
+        String imageDigest
+) {
+}
@@ -2,6 +2,8 @@ package com.mrngwozdz.service.publicmessage.mapper;
 
 import com.mrngwozdz.api.model.request.FileUploadRequest;
 import com.mrngwozdz.api.model.request.MessageRequest;
+import com.mrngwozdz.configuration.properties.UploadProperties;
+import com.mrngwozdz.platform.io.SpooledContent;
 import com.mrngwozdz.platform.result.ErrorCode;
 import com.mrngwozdz.platform.result.Failure;
 import io.vavr.control.Either;
@@ -9,6 +11,8 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.nio.file.Path;
+
 @Mapper
 public interface FileUploadRequestMapper {
 
@@ -18,12 +22,15 @@ public interface FileUploadRequestMapper {
     @Mapping(source = "fileName", target = "imageFilename")
     MessageRequest toMessageRequest(FileUploadRequest request);
 
-    default Either<Failure, MessageRequest> toMessageRequestWithFileData(FileUploadRequest request) {
+    default Either<Failure, MessageRequest> toMessageRequestWithFileData(FileUploadRequest request,
+                                                                         UploadProperties uploadProperties) {
         try {
             MessageRequest messageRequest = toMessageRequest(request);
 
             if (request.file != null) {
-                messageRequest.setImageData(request.file.readAllBytes());
+                Path spillDirectory = uploadProperties.spillDirectory().map(Path::of).orElse(null);
+                messageRequest.setImageData(
+                        SpooledContent.spool(request.file, uploadProperties.spillThreshold(), spillDirectory));
             }
 
             return Either.right(messageRequest);
@@ -2,9 +2,11 @@ package com.mrngwozdz.service.publicmessage.process;
 
 import com.mrngwozdz.integration.openai.OpenAiService;
 import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.io.SpooledContent;
 import com.mrngwozdz.service.minio.MinioService;
 import lombok.Getter;
 
+import java.util.List;
 import java.util.Optional;
 
 @Getter
@@ -12,6 +14,10 @@ public class ProcessHelper {
 
     private Optional<Image> image = Optional.empty();
     private Optional<String> uploadedImageURL = Optional.empty();
+    private Optional<String> imageObjectName = Optional.empty();
+    private Optional<String> imageDigest = Optional.empty();
+    private List<String> imageObjectNames = List.of();
+    private List<String> uploadedImageURLs = List.of();
     private String token;
     private String model;
     private String text;
@@ -25,6 +31,26 @@ public class ProcessHelper {
         return this;
     }
 
+    public ProcessHelper setImageObjectName(String imageObjectName) {
+        this.imageObjectName = Optional.ofNullable(imageObjectName);
+        return this;
+    }
+
+    public ProcessHelper setImageDigest(String imageDigest) {
+        this.imageDigest = Optional.ofNullable(imageDigest);
+        return this;
+    }
+
+    public ProcessHelper setImageObjectNames(List<String> imageObjectNames) {
+        this.imageObjectNames = List.copyOf(imageObjectNames);
+        return this;
+    }
+
+    public ProcessHelper setUploadedImageURLs(List<String> uploadedImageURLs) {
+        this.uploadedImageURLs = List.copyOf(uploadedImageURLs);
+        return this;
+    }
+
     public ProcessHelper setImage(Image image) {
         this.image = Optional.of(image);
         return this;
@@ -66,7 +92,7 @@ public class ProcessHelper {
     }
 
     public record Image(
-            byte[] imageData,
+            SpooledContent content,
             String imageFilename
     ) {}
 }
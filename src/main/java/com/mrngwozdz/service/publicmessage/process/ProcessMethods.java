@@ -7,29 +7,33 @@ import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
 import com.mrngwozdz.platform.result.ErrorCode;
 import com.mrngwozdz.platform.result.Failure;
 import com.mrngwozdz.service.minio.MinioService;
+import io.smallrye.mutiny.Multi;
 import io.vavr.control.Either;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.ByteArrayInputStream;
-
 @Slf4j
 public class ProcessMethods {
 
     private ProcessMethods() {}
 
     public static Either<Failure, String> uploadImageToMinio(ProcessHelper.Image image, MinioService minioService) {
+        return storeImageInMinio(image, minioService)
+                .flatMap(objectName -> presignImage(objectName, minioService));
+    }
+
+    public static Either<Failure, String> storeImageInMinio(ProcessHelper.Image image, MinioService minioService) {
         String fileName = image.imageFilename() != null ? image.imageFilename() : "image_" + System.currentTimeMillis() + ".jpg";
         String contentType = getContentType(fileName);
 
-        ByteArrayInputStream imageStream = new ByteArrayInputStream(image.imageData());
-        Either<Failure, String> uploadResult = minioService.uploadImage(imageStream, fileName, contentType);
+        Either<Failure, String> uploadResult = minioService.uploadImage(image.content(), fileName, contentType);
 
         if (uploadResult.isLeft()) {
             log.error("Failed to upload image to MinIO: {}", uploadResult.getLeft().message());
-            return uploadResult;
         }
+        return uploadResult;
+    }
 
-        String objectName = uploadResult.get();
+    public static Either<Failure, String> presignImage(String objectName, MinioService minioService) {
         String imageUrl;
 
         try {
@@ -39,7 +43,7 @@ public class ProcessMethods {
             return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to generate presigned URL: " + e.getMessage()));
         }
 
-        log.info("Successfully uploaded image to MinIO: {}, URL: {}", objectName, imageUrl);
+        log.info("Generated presigned URL for MinIO object: {}, URL: {}", objectName, imageUrl);
         return Either.right(imageUrl);
     }
 
@@ -49,6 +53,12 @@ public class ProcessMethods {
                 .flatMap(ProcessMethods::parseOpenAiResponse);
     }
 
+    public static Multi<String> streamOpenAiService(OpenAiProcessRequest request, OpenAiService openAiService) {
+        log.info("Streaming OpenAI service response");
+        return openAiService.processStream(request)
+                .map(ProcessMethods::decodeUnicodeEscapes);
+    }
+
     public static Either<Failure, OpenAiProcessRequest> buildOpenAiRequest(ProcessHelper helper) {
         log.info("Building OpenAI request");
 
@@ -61,11 +71,13 @@ public class ProcessMethods {
                 helper.getToken(),
                 helper.getModel(),
                 helper.getUploadedImageURL().orElse(null),
-                outputExample
+                outputExample,
+                helper.getImageDigest().orElse(null),
+                helper.getUploadedImageURLs()
         );
 
-        log.info("Built OpenAI request: text={}, model={}, imageUrl={}",
-                request.text(), request.model(), request.imageUrl());
+        log.info("Built OpenAI request: text={}, model={}, imageUrl={}, images={}",
+                request.text(), request.model(), request.imageUrl(), request.imageUrls().size());
 
         return Either.right(request);
     }
@@ -1,9 +1,13 @@
 package com.mrngwozdz.service.publicmessage.process;
 
 import com.mrngwozdz.platform.result.Failure;
+import io.smallrye.mutiny.Multi;
 import io.vavr.control.Either;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.mrngwozdz.service.publicmessage.process.ProcessMethods.uploadImageToMinio;
 
 @Slf4j
@@ -17,7 +21,41 @@ public class ProcessSteps {
         }
 
         var image = h.getImage().get();
-        return uploadImageToMinio(image, h.getMinioService()).map(h::setUploadedImageURL);
+        return uploadImageToMinio(image, h.getMinioService())
+                .map(h::setUploadedImageURL)
+                .map(helper -> helper.setImageDigest(image.content().sha256()));
+    }
+
+    public static Either<Failure, ProcessHelper> storeImage(ProcessHelper h) {
+        if (h.getImage().isEmpty()) {
+            return Either.right(h);
+        }
+
+        var image = h.getImage().get();
+        return ProcessMethods.storeImageInMinio(image, h.getMinioService())
+                .map(h::setImageObjectName)
+                .map(helper -> helper.setImageDigest(image.content().sha256()));
+    }
+
+    public static Either<Failure, ProcessHelper> presignStoredImage(ProcessHelper h) {
+        if (h.getImageObjectName().isEmpty()) {
+            return Either.right(h);
+        }
+
+        return ProcessMethods.presignImage(h.getImageObjectName().get(), h.getMinioService())
+                .map(h::setUploadedImageURL);
+    }
+
+    public static Either<Failure, ProcessHelper> presignStoredImages(ProcessHelper h) {
+        List<String> urls = new ArrayList<>();
+        for (String objectName : h.getImageObjectNames()) {
+            var url = ProcessMethods.presignImage(objectName, h.getMinioService());
+            if (url.isLeft()) {
+                return Either.left(url.getLeft());
+            }
+            urls.add(url.get());
+        }
+        return Either.right(h.setUploadedImageURLs(urls));
     }
 
     public static Either<Failure, ProcessHelper> buildOpenAiRequest(ProcessHelper h) {
@@ -29,4 +67,8 @@ public class ProcessSteps {
         return ProcessMethods.callOpenAiService(h.getOpenAiProcessRequest(), h.getOpenAiService());
     }
 
+    public static Multi<String> streamOpenAiService(ProcessHelper h) {
+        return ProcessMethods.streamOpenAiService(h.getOpenAiProcessRequest(), h.getOpenAiService());
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.mrngwozdz.service.publicmessage.process;
 
 import com.mrngwozdz.api.model.request.MessageRequest;
+import com.mrngwozdz.platform.io.SpooledContent;
 import com.mrngwozdz.platform.result.ErrorCode;
 import com.mrngwozdz.platform.result.Failure;
 import io.vavr.control.Either;
@@ -50,7 +51,7 @@ public class ProcessValidator {
                     });
         }
 
-        private static Either<Failure, Optional<ProcessHelper.Image>> validateImage(byte[] imageData, String imageFilename) {
+        private static Either<Failure, Optional<ProcessHelper.Image>> validateImage(SpooledContent imageData, String imageFilename) {
             // Both null - no image provided, which is OK
             if (imageData == null && imageFilename == null) {
                 return Either.right(Optional.empty());
@@ -68,7 +69,7 @@ public class ProcessValidator {
             }
 
             // Check if imageData is not empty
-            if (imageData.length == 0) {
+            if (imageData.size() == 0) {
                 return Either.left(Failure.of(ErrorCode.VALIDATION, "Image data cannot be empty"));
             }
 
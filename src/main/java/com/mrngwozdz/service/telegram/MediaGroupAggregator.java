@@ -0,0 +1,117 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Slf4j
+@ApplicationScoped
+public class MediaGroupAggregator {
+
+    private final Duration quietPeriod;
+    private final Duration maxWait;
+    private final int maxSize;
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+    private final DistributionSummary groupSizes;
+    private final ChatQueue chatQueue;
+
+    @Inject
+    public MediaGroupAggregator(TelegramProperties telegramProperties, TelegramUpdateQueue updateQueue,
+                                MeterRegistry registry) {
+        this(telegramProperties.mediaGroups(), updateQueue::enqueue, registry);
+    }
+
+    MediaGroupAggregator(TelegramProperties.MediaGroups properties, ChatQueue chatQueue, MeterRegistry registry) {
+        this.chatQueue = chatQueue;
+        this.quietPeriod = properties.quietPeriod();
+        this.maxWait = properties.maxWait();
+        this.maxSize = properties.maxSize();
+        this.timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("telegram-media-groups").daemon().factory());
+        this.groupSizes = DistributionSummary.builder("telegram.media-groups.size").register(registry);
+    }
+
+    public void add(TelegramMessage message, Consumer<List<TelegramMessage>> onComplete) {
+        var group = groups.computeIfAbsent(message.mediaGroupId(), id -> new Group(id, onComplete, System.nanoTime()));
+        synchronized (group) {
+            if (group.flushed) {
+                // the window closed just before this message; it starts a group of its own
+                groups.remove(group.id, group);
+                add(message, onComplete);
+                return;
+            }
+            group.messages.add(message);
+            if (group.pending != null) {
+                group.pending.cancel(false);
+            }
+            if (group.messages.size() >= maxSize) {
+                flush(group);
+                return;
+            }
+            long remaining = maxWait.toNanos() - (System.nanoTime() - group.startedAt);
+            long delay = Math.max(0, Math.min(quietPeriod.toNanos(), remaining));
+            group.pending = timer.schedule(() -> flush(group), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush(Group group) {
+        List<TelegramMessage> messages;
+        synchronized (group) {
+            if (group.flushed) {
+                return;
+            }
+            group.flushed = true;
+            groups.remove(group.id, group);
+            messages = new ArrayList<>(group.messages);
+        }
+        messages.sort((first, second) -> Long.compare(first.messageId(), second.messageId()));
+        groupSizes.record(messages.size());
+        log.info("Media group {} complete with {} messages", group.id, messages.size());
+        var chat = messages.getFirst().chat();
+        Object chatId = chat != null && chat.id() != null ? chat.id() : group.id;
+        if (!chatQueue.enqueue(chatId, "media group " + group.id, () -> group.onComplete.accept(messages))) {
+            log.error("Dropping media group {}: update queue of chat {} is full", group.id, chatId);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        timer.shutdownNow();
+    }
+
+    @FunctionalInterface
+    interface ChatQueue {
+        boolean enqueue(Object chatId, String description, Runnable task);
+    }
+
+    private static final class Group {
+        private final String id;
+        private final Consumer<List<TelegramMessage>> onComplete;
+        private final long startedAt;
+        private final List<TelegramMessage> messages = new ArrayList<>();
+        private ScheduledFuture<?> pending;
+        private boolean flushed;
+
+        private Group(String id, Consumer<List<TelegramMessage>> onComplete, long startedAt) {
+            this.id = id;
+            this.onComplete = onComplete;
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mrngwozdz.service.telegram;
+
+public enum MessagePriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,57 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.service.telegram.data.api.model.TelegramWebhookReply;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+// whichever side moves the slot out of WAITING first wins; a handler that loses sends the reply itself
+final class ReplySlot {
+
+    static final ReplySlot NONE = closed();
+
+    private enum State { WAITING, OFFERED, CLOSED }
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.WAITING);
+    private final CompletableFuture<TelegramWebhookReply> reply = new CompletableFuture<>();
+
+    boolean offer(TelegramWebhookReply message) {
+        if (!state.compareAndSet(State.WAITING, State.OFFERED)) {
+            return false;
+        }
+        reply.complete(message);
+        return true;
+    }
+
+    void close() {
+        if (state.compareAndSet(State.WAITING, State.CLOSED)) {
+            reply.complete(null);
+        }
+    }
+
+    Optional<TelegramWebhookReply> await(Duration budget) {
+        try {
+            return Optional.ofNullable(reply.get(budget.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        }
+        // if an offer won the race the future is completed right after its CAS, so this does not block for long
+        return Optional.ofNullable(reply.join());
+    }
+
+    private static ReplySlot closed() {
+        var slot = new ReplySlot();
+        slot.close();
+        return slot;
+    }
+}
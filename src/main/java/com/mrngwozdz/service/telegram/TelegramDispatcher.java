@@ -0,0 +1,350 @@
+package com.mrngwozdz.service.telegram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.concurrent.TokenBucket;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.telegram.data.api.TelegramClient;
+import com.mrngwozdz.service.telegram.data.api.model.request.TelegramMessageRequest;
+import com.mrngwozdz.service.telegram.utils.SendMessageUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.StartupEvent;
+import io.vavr.control.Either;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+@ApplicationScoped
+public class TelegramDispatcher {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Comparator<Outbound> SEND_ORDER = Comparator
+            .comparing(Outbound::priority)
+            .thenComparingLong(Outbound::sequence);
+
+    private final Settings settings;
+    private final Function<TelegramMessageRequest, Response> transport;
+    private final LongSupplier nanoClock;
+    private final TokenBucket globalBucket;
+    private final Map<String, ChatQueue> chats = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry registry;
+    private final Counter sent;
+    private final Counter merged;
+    private final Counter rateLimited;
+    private final Timer queueTime;
+    private long sequence;
+    private long globalBlockedUntil;
+    private int pending;
+    private volatile boolean running = true;
+    private volatile Thread dispatcherThread;
+
+    record Settings(
+            double globalRatePerSecond,
+            double chatRatePerSecond,
+            double groupRatePerMinute,
+            int maxMessageLength,
+            int shortMessageLength,
+            int maxRetries
+    ) {}
+
+    @Inject
+    public TelegramDispatcher(@RestClient TelegramClient telegramClient,
+                              @ConfigProperty(name = "telegram.bot.token") String botToken,
+                              TelegramProperties telegramProperties,
+                              MeterRegistry registry) {
+        this(settings(telegramProperties.outbound()),
+                request -> telegramClient.sendMessage(botToken, request),
+                registry,
+                System::nanoTime);
+    }
+
+    TelegramDispatcher(Settings settings, Function<TelegramMessageRequest, Response> transport,
+                       MeterRegistry registry, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.transport = transport;
+        this.nanoClock = nanoClock;
+        this.globalBucket = new TokenBucket(settings.globalRatePerSecond(), 1, nanoClock);
+        this.registry = registry;
+        this.sent = registry.counter("telegram.outbound.sent");
+        this.merged = registry.counter("telegram.outbound.merged");
+        this.rateLimited = registry.counter("telegram.outbound.rate-limited");
+        this.queueTime = Timer.builder("telegram.outbound.queue-time")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        start();
+    }
+
+    void start() {
+        Gauge.builder("telegram.outbound.pending", this, TelegramDispatcher::pending).register(registry);
+        dispatcherThread = Thread.ofPlatform().name("telegram-dispatcher").daemon().start(this::dispatch);
+    }
+
+    public CompletableFuture<Either<Failure, Success<String>>> send(String chatId, String text, MessagePriority priority) {
+        var result = new CompletableFuture<Either<Failure, Success<String>>>();
+        lock.lock();
+        try {
+            var message = new Outbound(chatId, text, priority, sequence++, nanoClock.getAsLong(), result);
+            chats.computeIfAbsent(chatId, this::newChatQueue).queue.add(message);
+            pending++;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    int pending() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            lock.lock();
+            try {
+                long now = nanoClock.getAsLong();
+                long wait = nanosUntilNext(now);
+                if (wait > 0) {
+                    changed.awaitNanos(wait);
+                    continue;
+                }
+                var batch = takeNext(now);
+                senders.execute(() -> deliver(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long nanosUntilNext(long now) {
+        long chatWait = Long.MAX_VALUE;
+        var iterator = chats.values().iterator();
+        while (iterator.hasNext()) {
+            var chat = iterator.next();
+            if (chat.queue.isEmpty()) {
+                // an idle chat is forgotten only once its bucket has refilled, so the limit still holds
+                if (!chat.inFlight && chat.blockedUntil <= now && chat.bucket.isFull()) {
+                    iterator.remove();
+                }
+                continue;
+            }
+            if (!chat.inFlight) {
+                chatWait = Math.min(chatWait, Math.max(chat.blockedUntil - now, chat.bucket.nanosUntilAvailable()));
+            }
+        }
+        if (chatWait > 0) {
+            return chatWait == Long.MAX_VALUE ? TimeUnit.SECONDS.toNanos(1) : chatWait;
+        }
+        return Math.max(Math.max(globalBlockedUntil - now, 0), globalBucket.nanosUntilAvailable());
+    }
+
+    private Batch takeNext(long now) {
+        ChatQueue best = null;
+        for (var chat : chats.values()) {
+            if (chat.inFlight || chat.queue.isEmpty() || chat.blockedUntil > now || chat.bucket.nanosUntilAvailable() > 0) {
+                continue;
+            }
+            if (best == null || SEND_ORDER.compare(chat.queue.peek(), best.queue.peek()) < 0) {
+                best = chat;
+            }
+        }
+
+        globalBucket.consume();
+        best.bucket.consume();
+        best.inFlight = true;
+
+        List<Outbound> messages = new ArrayList<>();
+        messages.add(best.queue.poll());
+        int length = messages.getFirst().text().length();
+        while (!best.queue.isEmpty() && canMerge(messages.getFirst(), best.queue.peek(), length)) {
+            var next = best.queue.poll();
+            length += 1 + next.text().length();
+            messages.add(next);
+        }
+        pending -= messages.size();
+        return new Batch(best, messages);
+    }
+
+    private boolean canMerge(Outbound first, Outbound next, int length) {
+        return first.text().length() <= settings.shortMessageLength()
+                && next.text().length() <= settings.shortMessageLength()
+                && next.priority() == first.priority()
+                && length + 1 + next.text().length() <= settings.maxMessageLength();
+    }
+
+    private void deliver(Batch batch) {
+        long start = nanoClock.getAsLong();
+        batch.messages().forEach(message -> queueTime.record(start - message.enqueuedAt(), TimeUnit.NANOSECONDS));
+        String text = batch.messages().stream().map(Outbound::text).collect(Collectors.joining("\n"));
+        String chatId = batch.chat().chatId;
+
+        Either<Failure, Success<String>> result;
+        Duration retryAfter = null;
+        try (Response response = transport.apply(new TelegramMessageRequest(chatId, text))) {
+            if (response.getStatus() == 429) {
+                retryAfter = retryAfter(response);
+                result = Either.left(Failure.of(ErrorCode.UNAVAILABLE, "Telegram rate limit exceeded")
+                        .with("retryAfter", retryAfter.toSeconds()));
+            } else {
+                result = SendMessageUtils.processResponse(response);
+            }
+        } catch (Exception e) {
+            result = Either.left(Failure.of(ErrorCode.UNKNOWN, "Error sending message").with("exception", e.getMessage()));
+        }
+
+        lock.lock();
+        try {
+            var chat = batch.chat();
+            chat.inFlight = false;
+            if (retryAfter != null) {
+                rateLimited.increment();
+                long now = nanoClock.getAsLong();
+                chat.blockedUntil = now + retryAfter.toNanos();
+                // a 429 also means the global budget was misjudged, so every chat pauses for a moment
+                long globalPause = Math.min(retryAfter.toNanos(), TimeUnit.SECONDS.toNanos(1));
+                globalBlockedUntil = Math.max(globalBlockedUntil, now + globalPause);
+                log.warn("Telegram rate limit hit for chat {}, retrying after {}", chatId, retryAfter);
+                result = requeue(chat, batch.messages(), result);
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        if (result != null) {
+            if (result.isRight()) {
+                sent.increment();
+                if (batch.messages().size() > 1) {
+                    merged.increment(batch.messages().size() - 1);
+                }
+            }
+            for (var message : batch.messages()) {
+                message.result().complete(result);
+            }
+        }
+    }
+
+    private Either<Failure, Success<String>> requeue(ChatQueue chat, List<Outbound> messages,
+                                                     Either<Failure, Success<String>> failure) {
+        if (messages.getFirst().attempt() >= settings.maxRetries()) {
+            return failure;
+        }
+        for (var message : messages) {
+            chat.queue.add(message.retried());
+        }
+        pending += messages.size();
+        return null;
+    }
+
+    private static Duration retryAfter(Response response) {
+        try {
+            JsonNode body = OBJECT_MAPPER.readTree(response.readEntity(String.class));
+            return Duration.ofSeconds(Math.max(1, body.path("parameters").path("retry_after").asLong(1)));
+        } catch (Exception e) {
+            return Duration.ofSeconds(1);
+        }
+    }
+
+    private ChatQueue newChatQueue(String chatId) {
+        // group and channel ids are negative; Telegram allows them about 20 messages per minute
+        double rate = chatId.startsWith("-")
+                ? settings.groupRatePerMinute() / 60
+                : settings.chatRatePerSecond();
+        return new ChatQueue(chatId, new TokenBucket(rate, 1, nanoClock));
+    }
+
+    private static Settings settings(TelegramProperties.Outbound properties) {
+        return new Settings(
+                properties.globalRatePerSecond(),
+                properties.chatRatePerSecond(),
+                properties.groupRatePerMinute(),
+                properties.maxMessageLength(),
+                properties.shortMessageLength(),
+                properties.maxRetries());
+    }
+
+    @PreDestroy
+    void close() {
+        running = false;
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+        }
+        senders.shutdown();
+    }
+
+    private static final class ChatQueue {
+        private final String chatId;
+        private final TokenBucket bucket;
+        private final PriorityQueue<Outbound> queue = new PriorityQueue<>(SEND_ORDER);
+        private boolean inFlight;
+        private long blockedUntil;
+
+        private ChatQueue(String chatId, TokenBucket bucket) {
+            this.chatId = chatId;
+            this.bucket = bucket;
+        }
+    }
+
+    private record Outbound(
+            String chatId,
+            String text,
+            MessagePriority priority,
+            long sequence,
+            long enqueuedAt,
+            CompletableFuture<Either<Failure, Success<String>>> result,
+            int attempt
+    ) {
+        Outbound(String chatId, String text, MessagePriority priority, long sequence, long enqueuedAt,
+                 CompletableFuture<Either<Failure, Success<String>>> result) {
+            this(chatId, text, priority, sequence, enqueuedAt, result, 0);
+        }
+
+        Outbound retried() {
+            return new Outbound(chatId, text, priority, sequence, enqueuedAt, result, attempt + 1);
+        }
+    }
+
+    private record Batch(ChatQueue chat, List<Outbound> messages) {}
+}
@@ -0,0 +1,27 @@
+package com.mrngwozdz.service.telegram;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "telegram_offsets")
+public class TelegramOffsetEntity {
+
+    @Id
+    @Column(name = "bot_id", length = 64)
+    private String botId;
+
+    @Column(name = "next_offset", nullable = false)
+    private long nextOffset;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
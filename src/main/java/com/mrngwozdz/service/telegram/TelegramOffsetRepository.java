@@ -0,0 +1,31 @@
+package com.mrngwozdz.service.telegram;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.Instant;
+
+@ApplicationScoped
+public class TelegramOffsetRepository implements PanacheRepositoryBase<TelegramOffsetEntity, String> {
+
+    @Transactional
+    public long load(String botId) {
+        return findByIdOptional(botId).map(TelegramOffsetEntity::getNextOffset).orElse(0L);
+    }
+
+    @Transactional
+    public void save(String botId, long nextOffset) {
+        getEntityManager().createNativeQuery("""
+                        INSERT INTO telegram_offsets (bot_id, next_offset, updated_at)
+                        VALUES (?1, ?2, ?3)
+                        ON CONFLICT (bot_id) DO UPDATE
+                        SET next_offset = GREATEST(telegram_offsets.next_offset, excluded.next_offset),
+                            updated_at = excluded.updated_at
+                        """)
+                .setParameter(1, botId)
+                .setParameter(2, nextOffset)
+                .setParameter(3, Instant.now())
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,65 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.configuration.properties.UploadProperties;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.service.minio.MinioService;
+import com.mrngwozdz.service.publicmessage.StoredMessage;
+import com.mrngwozdz.service.telegram.data.api.TelegramClient;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import com.mrngwozdz.service.telegram.photo.TelegramPhotoHelper;
+import com.mrngwozdz.service.telegram.photo.TelegramPhotoSteps;
+import io.vavr.control.Either;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Slf4j
+@ApplicationScoped
+public class TelegramPhotoService {
+
+    private final TelegramClient telegramClient;
+    private final MinioService minioService;
+    private final String botToken;
+    private final String apiUrl;
+    private final TelegramProperties.Photos properties;
+    private final UploadProperties uploadProperties;
+    private final HttpClient httpClient;
+
+    @Inject
+    public TelegramPhotoService(@RestClient TelegramClient telegramClient,
+                                MinioService minioService,
+                                @ConfigProperty(name = "telegram.bot.token") String botToken,
+                                @ConfigProperty(name = "quarkus.rest-client.telegram-api.url") String apiUrl,
+                                TelegramProperties telegramProperties,
+                                UploadProperties uploadProperties) {
+        this.telegramClient = telegramClient;
+        this.minioService = minioService;
+        this.botToken = botToken;
+        this.apiUrl = apiUrl;
+        this.properties = telegramProperties.photos();
+        this.uploadProperties = uploadProperties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    public static boolean hasImage(TelegramMessage message) {
+        return (message.photo() != null && !message.photo().isEmpty()) || message.document() != null;
+    }
+
+    public Either<Failure, StoredMessage> store(TelegramMessage message) {
+        return TelegramPhotoSteps.selectFile(new TelegramPhotoHelper(), message, properties.targetDimension(), properties.maxFileSize())
+                .flatMap(h -> TelegramPhotoSteps.resolveFilePath(h, telegramClient, botToken))
+                .flatMap(h -> TelegramPhotoSteps.downloadToMinio(h, httpClient, apiUrl, botToken, properties.downloadTimeout(),
+                        uploadProperties, minioService))
+                .peek(h -> log.info("Stored Telegram file {} as {}", h.getFileId(), h.getObjectName()))
+                .map(h -> new StoredMessage(message.caption() != null ? message.caption() : "", h.getObjectName(), null));
+    }
+}
@@ -0,0 +1,169 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.telegram.data.api.TelegramClient;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import com.mrngwozdz.service.telegram.data.api.model.request.GetUpdatesRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.vavr.control.Either;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+// the offset is stored only after updates were accepted, so a restart or a full queue causes redelivery, not loss
+@Slf4j
+@ApplicationScoped
+public class TelegramPoller {
+
+    private final TelegramClient telegramClient;
+    private final String botToken;
+    private final String botId;
+    private final TelegramOffsetRepository offsetRepository;
+    private final Function<TelegramUpdate, Either<Failure, Success<String>>> sink;
+    private final TelegramProperties.Ingestion properties;
+    private final DistributionSummary batchSizes;
+    private final Counter errors;
+    private long nextOffset = -1;
+    private Duration timeout;
+    private Duration backoff = Duration.ZERO;
+    private volatile Thread thread;
+
+    @Inject
+    public TelegramPoller(@RestClient TelegramClient telegramClient,
+                          @ConfigProperty(name = "telegram.bot.token") String botToken,
+                          TelegramOffsetRepository offsetRepository,
+                          TelegramService telegramService,
+                          TelegramProperties telegramProperties,
+                          MeterRegistry registry) {
+        this(telegramClient, botToken, offsetRepository, telegramService::processUpdate,
+                telegramProperties.ingestion(), registry);
+    }
+
+    TelegramPoller(TelegramClient telegramClient, String botToken, TelegramOffsetRepository offsetRepository,
+                   Function<TelegramUpdate, Either<Failure, Success<String>>> sink,
+                   TelegramProperties.Ingestion properties, MeterRegistry registry) {
+        this.telegramClient = telegramClient;
+        this.botToken = botToken;
+        // the numeric part before ':' identifies the bot without storing the secret
+        this.botId = botToken.contains(":") ? botToken.substring(0, botToken.indexOf(':')) : "default";
+        this.offsetRepository = offsetRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.timeout = properties.pollTimeout();
+        this.batchSizes = DistributionSummary.builder("telegram.polling.batch-size").register(registry);
+        this.errors = registry.counter("telegram.polling.errors");
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (properties.mode() != TelegramProperties.IngestionMode.POLLING) {
+            return;
+        }
+        // getUpdates is refused while a webhook is registered
+        try (Response response = telegramClient.deleteWebhook(botToken)) {
+            log.info("Deleted Telegram webhook before polling: status {}", response.getStatus());
+        } catch (Exception e) {
+            log.warn("Could not delete Telegram webhook: {}", e.getMessage());
+        }
+        thread = Thread.ofPlatform().name("telegram-poller").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    void stop() {
+        var running = thread;
+        thread = null;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    private void run() {
+        log.info("Polling Telegram updates for bot {}", botId);
+        while (thread != null && !Thread.currentThread().isInterrupted()) {
+            Duration pause = pollOnce();
+            if (!pause.isZero()) {
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    Duration pollOnce() {
+        try {
+            if (nextOffset < 0) {
+                nextOffset = offsetRepository.load(botId);
+            }
+            var response = telegramClient.getUpdates(botToken,
+                    new GetUpdatesRequest(nextOffset, properties.batchSize(), timeout.toSeconds()));
+            if (!response.ok()) {
+                return failed(Failure.of(ErrorCode.IO_ERROR, "getUpdates rejected")
+                        .with("description", response.description()));
+            }
+
+            List<TelegramUpdate> updates = response.result() == null ? List.of() : response.result();
+            batchSizes.record(updates.size());
+            long offset = nextOffset;
+            Failure rejected = null;
+            var ordered = updates.stream()
+                    .filter(update -> update.updateId() != null)
+                    .sorted(Comparator.comparing(TelegramUpdate::updateId))
+                    .toList();
+            for (var update : ordered) {
+                var result = sink.apply(update);
+                if (result.isLeft() && result.getLeft().code() == ErrorCode.UNAVAILABLE) {
+                    rejected = result.getLeft();
+                    break;
+                }
+                offset = Math.max(offset, update.updateId() + 1);
+            }
+            if (offset != nextOffset) {
+                offsetRepository.save(botId, offset);
+                nextOffset = offset;
+            }
+            if (rejected != null) {
+                return failed(rejected);
+            }
+
+            backoff = Duration.ZERO;
+            timeout = nextTimeout(updates.size());
+            return Duration.ZERO;
+        } catch (Exception e) {
+            return failed(Failure.of(ErrorCode.IO_ERROR, "getUpdates failed").with("exception", e.getMessage()));
+        }
+    }
+
+    Duration nextTimeout(int batchSize) {
+        return batchSize >= properties.batchSize() ? Duration.ZERO : properties.pollTimeout();
+    }
+
+    private Duration failed(Failure failure) {
+        errors.increment();
+        backoff = backoff.isZero()
+                ? properties.errorBackoff()
+                : min(backoff.multipliedBy(2), properties.maxErrorBackoff());
+        log.warn("Telegram polling paused for {}: {} {}", backoff, failure.message(), failure.context());
+        return backoff;
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
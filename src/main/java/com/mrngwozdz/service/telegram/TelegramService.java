@@ -1,11 +1,17 @@
 package com.mrngwozdz.service.telegram;
 
+import com.mrngwozdz.configuration.properties.TelegramProperties;
 import com.mrngwozdz.platform.result.ErrorCode;
 import com.mrngwozdz.platform.result.Failure;
 import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.publicmessage.PublicMessageService;
+import com.mrngwozdz.service.publicmessage.StoredMessage;
 import com.mrngwozdz.service.telegram.data.api.TelegramClient;
-import com.mrngwozdz.service.telegram.data.api.model.request.TelegramMessageRequest;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
 import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramWebhookReply;
+import com.mrngwozdz.service.telegram.outbox.TelegramOutbox;
+import com.mrngwozdz.service.telegram.shard.TelegramShardCoordinator;
 import com.mrngwozdz.service.telegram.utils.SendMessageUtils;
 import io.vavr.control.Either;
 import lombok.extern.slf4j.Slf4j;
@@ -18,11 +24,32 @@ import jakarta.ws.rs.core.Response;
 import jakarta.enterprise.event.Observes;
 import io.quarkus.runtime.StartupEvent;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
 @Slf4j
 @ApplicationScoped
 public class TelegramService {
 
+    private static final int MAX_MESSAGE_LENGTH = 4096;
+
     private final TelegramClient telegramClient;
+    private final TelegramUpdateQueue updateQueue;
+    private final TelegramDispatcher dispatcher;
+    private final TelegramPhotoService photoService;
+    private final MediaGroupAggregator mediaGroups;
+    private final TelegramOutbox outbox;
+    private final TelegramShardCoordinator shards;
+    private final PublicMessageService publicMessageService;
+    private final Duration sendTimeout;
+    private final TelegramProperties.Webhook webhookProperties;
     private final String botToken;
     private final String webhookUrl;
     private final String botUsername;
@@ -30,16 +57,34 @@ public class TelegramService {
     @Inject
     public TelegramService(
             @RestClient TelegramClient telegramClient,
+            TelegramUpdateQueue updateQueue,
+            TelegramDispatcher dispatcher,
+            TelegramPhotoService photoService,
+            MediaGroupAggregator mediaGroups,
+            TelegramOutbox outbox,
+            TelegramShardCoordinator shards,
+            PublicMessageService publicMessageService,
+            TelegramProperties telegramProperties,
             @ConfigProperty(name = "telegram.bot.token") String botToken,
             @ConfigProperty(name = "telegram.webhook.url") String webhookUrl,
             @ConfigProperty(name = "telegram.bot.username") String botUsername) {
         this.telegramClient = telegramClient;
+        this.updateQueue = updateQueue;
+        this.dispatcher = dispatcher;
+        this.photoService = photoService;
+        this.mediaGroups = mediaGroups;
+        this.outbox = outbox;
+        this.shards = shards;
+        this.publicMessageService = publicMessageService;
+        this.sendTimeout = telegramProperties.outbound().sendTimeout();
+        this.webhookProperties = telegramProperties.webhook();
         this.botToken = botToken;
         this.webhookUrl = webhookUrl;
         this.botUsername = botUsername;
     }
 
     void onStart(@Observes StartupEvent ev) {
+        shards.onForwarded(this::enqueueForwarded);
         log.info("=== TELEGRAM BOT STARTUP ===");
         log.info("Bot username: @{}", botUsername);
         log.info("Bot token: {}...{}",
@@ -49,47 +94,178 @@ public class TelegramService {
     }
 
     public Either<Failure, Success<String>> sendMessage(String chatId, String text) {
-        var request = new TelegramMessageRequest(chatId, text);
-        try (Response response = telegramClient.sendMessage(botToken, request)) {
-            return SendMessageUtils.processResponse(response);
-        } catch (Exception e) {
+        try {
+            return sendMessageAsync(chatId, text, MessagePriority.NORMAL)
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return Either.left(Failure.of(ErrorCode.TIMEOUT, "Message still queued").with("chatId", chatId));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Either.left(Failure.of(ErrorCode.UNKNOWN, "Interrupted while sending message"));
+        } catch (ExecutionException e) {
             return Either.left(
-                Failure.of(ErrorCode.UNKNOWN, "Error sending message").with("exception", e.getMessage())
+                Failure.of(ErrorCode.UNKNOWN, "Error sending message").with("exception", e.getCause().getMessage())
             );
         }
     }
 
-    public Either<Failure, Success<String>> processWebhook(TelegramUpdate update) {
-        try {
-            log.info("Received Telegram webhook: updateId={}, messageId={}",
-                    update.updateId(), 
-                    update.message() != null ? update.message().messageId() : null);
-
-            if (update.message() != null && update.message().text() != null) {
-                var message = update.message();
-                log.info("Processing message from user {} ({}): {}",
-                        message.from().firstName(),
-                        message.from().username(),
-                        message.text());
-
-                String response = "Telegram test";
-                
-                if (response != null) {
-                    return sendMessage(message.chat().id().toString(), response);
-                }
+    public CompletableFuture<Either<Failure, Success<String>>> sendMessageAsync(String chatId, String text,
+                                                                               MessagePriority priority) {
+        return dispatcher.send(chatId, text, priority);
+    }
+
+    public Either<Failure, Success<TelegramWebhookReply>> processWebhook(TelegramUpdate update) {
+        if (!webhookProperties.inlineReplies()) {
+            return processUpdate(update, ReplySlot.NONE).map(ignored -> Success.of(null));
+        }
+        var slot = new ReplySlot();
+        return processUpdate(update, slot)
+                .map(ignored -> Success.of(slot.await(webhookProperties.replyBudget()).orElse(null)));
+    }
+
+    public Either<Failure, Success<String>> processUpdate(TelegramUpdate update) {
+        return processUpdate(update, ReplySlot.NONE);
+    }
+
+    private Either<Failure, Success<String>> processUpdate(TelegramUpdate update, ReplySlot slot) {
+        if (update == null || update.updateId() == null) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Update id is required"));
+        }
+
+        if (update.message() == null) {
+            // update types we do not handle are acknowledged so Telegram does not redeliver them
+            return Either.right(Success.of("Update ignored"));
+        }
+
+        // updates of a chat with forwarded ones still pending queue up behind them, keeping the chat in order
+        if (shards.enabled() && update.message().chat() != null && update.message().chat().id() != null
+                && (!shards.ownsChat(update.message().chat().id()) || shards.hasPending(update.message().chat().id()))) {
+            // the owner replies with its own request, so the webhook response stays empty
+            slot.close();
+            return shards.forward(update, update.message().chat().id());
+        }
+        return enqueue(update, slot);
+    }
+
+    private Either<Failure, Success<String>> enqueue(TelegramUpdate update, ReplySlot slot) {
+        log.info("Received Telegram update: updateId={}, messageId={}",
+                update.updateId(),
+                update.message() != null ? update.message().messageId() : null);
+        Runnable finished = trackShard(update);
+        return updateQueue.enqueue(update, queued -> {
+            try {
+                handleUpdate(queued, slot);
+            } finally {
+                slot.close();
+                finished.run();
             }
+        }, () -> {
+            // nothing will offer a reply, so the webhook must not wait for one
+            slot.close();
+            finished.run();
+        });
+    }
 
-            return Either.right(Success.of("Webhook processed successfully"));
-        } catch (Exception e) {
-            log.error("Error processing webhook", e);
-            return Either.left(
-                Failure.of(ErrorCode.UNKNOWN, "Error processing webhook").with("exception", e.getMessage())
-            );
+    // while this node still has updates of a shard queued, the shard stays locked so no other node takes the chat over
+    private Runnable trackShard(TelegramUpdate update) {
+        Long chatId = update.message() != null && update.message().chat() != null ? update.message().chat().id() : null;
+        if (!shards.enabled() || chatId == null) {
+            return () -> { };
+        }
+        shards.updateStarted(chatId);
+        return () -> shards.updateFinished(chatId);
+    }
+
+    // a full queue keeps the forwarded row for the next drain; other failures would never succeed on retry
+    private boolean enqueueForwarded(TelegramUpdate update) {
+        return enqueue(update, ReplySlot.NONE).fold(failure -> {
+            log.error("Failed to queue forwarded update {}: {}", update.updateId(), failure.message());
+            return failure.code() != ErrorCode.UNAVAILABLE;
+        }, queued -> true);
+    }
+
+    void handleUpdate(TelegramUpdate update, ReplySlot slot) {
+        if (update.message() != null && update.message().chat() != null && TelegramPhotoService.hasImage(update.message())) {
+            if (update.message().mediaGroupId() != null) {
+                mediaGroups.add(update.message(), messages -> handleAlbum(update, messages));
+            } else {
+                handleImage(update, update.message(), slot);
+            }
+        } else if (update.message() != null && update.message().text() != null && update.message().chat() != null) {
+            var message = update.message();
+            log.info("Processing message from user {} ({}): {}",
+                    message.from() != null ? message.from().firstName() : null,
+                    message.from() != null ? message.from().username() : null,
+                    message.text());
+
+            String response = "Telegram test";
+
+            reply(update, message.chat().id().toString(), response, slot);
+        }
+    }
+
+    private void handleImage(TelegramUpdate update, TelegramMessage message, ReplySlot slot) {
+        log.info("Processing image from chat {} in update {}", message.chat().id(), update.updateId());
+        String reply = photoService.store(message)
+                .flatMap(publicMessageService::process)
+                .fold(failure -> {
+                    log.error("Failed to process image in update {}: {}", update.updateId(), failure.message());
+                    return "Sorry, I could not process this image: " + failure.message();
+                }, success -> success.value().value());
+
+        reply(update, message.chat().id().toString(), reply, slot);
+    }
+
+    private void handleAlbum(TelegramUpdate update, List<TelegramMessage> messages) {
+        var chatId = messages.getFirst().chat().id().toString();
+        log.info("Processing album of {} images from chat {}", messages.size(), chatId);
+
+        List<Either<Failure, StoredMessage>> stored;
+        try (var uploads = Executors.newVirtualThreadPerTaskExecutor()) {
+            // every upload is started before the first join
+            var futures = messages.stream()
+                    .map(message -> CompletableFuture.supplyAsync(() -> photoService.store(message), uploads))
+                    .toList();
+            stored = futures.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        }
+
+        String caption = messages.stream()
+                .map(TelegramMessage::caption)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse("");
+        String reply = Either.sequenceRight(stored)
+                .flatMap(images -> publicMessageService.process(caption,
+                        images.map(StoredMessage::imageObjectName).toJavaList()))
+                .fold(failure -> {
+                    log.error("Failed to process album in update {}: {}", update.updateId(), failure.message());
+                    return "Sorry, I could not process these images: " + failure.message();
+                }, success -> success.value().value());
+
+        reply(update, chatId, reply, ReplySlot.NONE);
+    }
+
+    private void reply(TelegramUpdate update, String chatId, String text, ReplySlot slot) {
+        if (text.length() <= MAX_MESSAGE_LENGTH && slot.offer(TelegramWebhookReply.sendMessage(chatId, text))) {
+            log.info("Replying to update {} inline", update.updateId());
+            return;
+        }
+        if (outbox.enabled() && outbox.submit(chatId, text, MessagePriority.HIGH).isRight()) {
+            return;
         }
+        sendMessageAsync(chatId, text, MessagePriority.HIGH)
+                .thenAccept(result -> result.peekLeft(failure ->
+                        log.error("Failed to reply to update {}: {}", update.updateId(), failure.message())));
     }
 
     public Either<Failure, Success<String>> setWebhook(String url) {
-        try (Response response = telegramClient.setWebhook(botToken, url)) {
+        String allowedUpdates = webhookProperties.allowedUpdates().stream()
+                .map(type -> "\"" + type + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+        try (Response response = telegramClient.setWebhook(botToken, url, allowedUpdates,
+                webhookProperties.maxConnections(), webhookProperties.secretToken().orElse(null))) {
             return SendMessageUtils.processResponse(response);
         } catch (Exception e) {
             return Either.left(
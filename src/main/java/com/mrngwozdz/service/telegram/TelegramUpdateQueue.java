@@ -0,0 +1,117 @@
+package com.mrngwozdz.service.telegram;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.concurrent.StripedExecutor;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vavr.control.Either;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Slf4j
+@ApplicationScoped
+public class TelegramUpdateQueue {
+
+    private final StripedExecutor executor;
+    private final Cache<Long, Boolean> seenUpdates;
+    private final Timer lag;
+    private final Timer processing;
+    private final Counter duplicates;
+    private final Counter rejected;
+
+    @Inject
+    public TelegramUpdateQueue(TelegramProperties telegramProperties, MeterRegistry registry) {
+        var properties = telegramProperties.updates();
+        this.executor = new StripedExecutor("telegram-updates", properties.workers(), properties.queueSize());
+        this.seenUpdates = Caffeine.newBuilder()
+                .expireAfterWrite(properties.dedupeTtl())
+                .maximumSize(properties.dedupeMaximumSize())
+                .build();
+
+        Gauge.builder("telegram.updates.queue-depth", executor, StripedExecutor::queueDepth).register(registry);
+        Gauge.builder("telegram.updates.active", executor, StripedExecutor::activeCount).register(registry);
+        this.lag = Timer.builder("telegram.updates.lag")
+                .description("Time between accepting an update and starting to process it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.processing = Timer.builder("telegram.updates.processing")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.duplicates = registry.counter("telegram.updates.duplicates");
+        this.rejected = registry.counter("telegram.updates.rejected");
+    }
+
+    public Either<Failure, Success<String>> enqueue(TelegramUpdate update, Consumer<TelegramUpdate> handler) {
+        return enqueue(update, handler, () -> { });
+    }
+
+    // onNotQueued runs when the handler will never run, because the update is a redelivery or the queue is full
+    public Either<Failure, Success<String>> enqueue(TelegramUpdate update, Consumer<TelegramUpdate> handler,
+                                                    Runnable onNotQueued) {
+        if (seenUpdates.asMap().putIfAbsent(update.updateId(), Boolean.TRUE) != null) {
+            log.info("Dropping redelivered Telegram update {}", update.updateId());
+            duplicates.increment();
+            onNotQueued.run();
+            return Either.right(Success.of("Update already received"));
+        }
+
+        boolean queued = submit(orderingKey(update), "Telegram update " + update.updateId(), () -> handler.accept(update));
+        if (!queued) {
+            // forget the update so the redelivery Telegram makes after the 503 is accepted
+            seenUpdates.invalidate(update.updateId());
+            rejected.increment();
+            onNotQueued.run();
+            log.warn("Telegram update queue is full, rejecting update {}", update.updateId());
+            return Either.left(Failure.of(ErrorCode.UNAVAILABLE, "Update queue is full"));
+        }
+        return Either.right(Success.of("Webhook accepted"));
+    }
+
+    public boolean enqueue(Object chatId, String description, Runnable task) {
+        boolean queued = submit(chatId, description, task);
+        if (!queued) {
+            rejected.increment();
+        }
+        return queued;
+    }
+
+    private boolean submit(Object key, String description, Runnable task) {
+        long acceptedAt = System.nanoTime();
+        return executor.execute(key, () -> {
+            long startedAt = System.nanoTime();
+            lag.record(startedAt - acceptedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Failed to process {}", description, e);
+            } finally {
+                processing.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private static Object orderingKey(TelegramUpdate update) {
+        if (update.message() != null && update.message().chat() != null && update.message().chat().id() != null) {
+            return update.message().chat().id();
+        }
+        return update.updateId();
+    }
+
+    @PreDestroy
+    void close() {
+        executor.close();
+    }
+}
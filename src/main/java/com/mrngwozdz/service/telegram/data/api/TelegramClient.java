@@ -1,11 +1,16 @@
 package com.mrngwozdz.service.telegram.data.api;
 
+import com.mrngwozdz.service.telegram.data.api.model.TelegramFileResponse;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdatesResponse;
+import com.mrngwozdz.service.telegram.data.api.model.request.GetUpdatesRequest;
 import com.mrngwozdz.service.telegram.data.api.model.request.TelegramMessageRequest;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.FormParam;
 import jakarta.ws.rs.core.MediaType;
@@ -22,6 +27,23 @@ public interface TelegramClient {
     @POST
     @Path("/bot{token}/setWebhook")
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
-    Response setWebhook(@PathParam("token") String token, @FormParam("url") String url);
+    Response setWebhook(@PathParam("token") String token,
+                        @FormParam("url") String url,
+                        @FormParam("allowed_updates") String allowedUpdates,
+                        @FormParam("max_connections") int maxConnections,
+                        @FormParam("secret_token") String secretToken);
+
+    @POST
+    @Path("/bot{token}/deleteWebhook")
+    Response deleteWebhook(@PathParam("token") String token);
+
+    @POST
+    @Path("/bot{token}/getUpdates")
+    @Consumes(MediaType.APPLICATION_JSON)
+    TelegramUpdatesResponse getUpdates(@PathParam("token") String token, GetUpdatesRequest request);
+
+    @GET
+    @Path("/bot{token}/getFile")
+    TelegramFileResponse getFile(@PathParam("token") String token, @QueryParam("file_id") String fileId);
 
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.mrngwozdz.service.telegram.data.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TelegramDocument(
+        @JsonProperty("file_id") String fileId,
+        @JsonProperty("file_unique_id") String fileUniqueId,
+        @JsonProperty("file_name") String fileName,
+        @JsonProperty("mime_type") String mimeType,
+        @JsonProperty("file_size") Long fileSize
+) {}
@@ -0,0 +1,9 @@
+package com.mrngwozdz.service.telegram.data.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TelegramFile(
+        @JsonProperty("file_id") String fileId,
+        @JsonProperty("file_size") Long fileSize,
+        @JsonProperty("file_path") String filePath
+) {}
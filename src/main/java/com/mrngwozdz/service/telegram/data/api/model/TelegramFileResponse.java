@@ -0,0 +1,7 @@
+package com.mrngwozdz.service.telegram.data.api.model;
+
+public record TelegramFileResponse(
+        boolean ok,
+        TelegramFile result,
+        String description
+) {}
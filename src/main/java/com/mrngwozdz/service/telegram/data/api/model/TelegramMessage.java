@@ -2,10 +2,16 @@ package com.mrngwozdz.service.telegram.data.api.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.List;
+
 public record TelegramMessage(
         @JsonProperty("message_id") Long messageId,
         TelegramUser from,
         TelegramChat chat,
         Long date,
-        String text
-) {}
\ No newline at end of file
+        String text,
+        String caption,
+        @JsonProperty("media_group_id") String mediaGroupId,
+        List<TelegramPhotoSize> photo,
+        TelegramDocument document
+) {}
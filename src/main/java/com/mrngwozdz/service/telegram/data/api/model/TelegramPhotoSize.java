@@ -0,0 +1,11 @@
+package com.mrngwozdz.service.telegram.data.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TelegramPhotoSize(
+        @JsonProperty("file_id") String fileId,
+        @JsonProperty("file_unique_id") String fileUniqueId,
+        Integer width,
+        Integer height,
+        @JsonProperty("file_size") Long fileSize
+) {}
@@ -0,0 +1,9 @@
+package com.mrngwozdz.service.telegram.data.api.model;
+
+import java.util.List;
+
+public record TelegramUpdatesResponse(
+        boolean ok,
+        List<TelegramUpdate> result,
+        String description
+) {}
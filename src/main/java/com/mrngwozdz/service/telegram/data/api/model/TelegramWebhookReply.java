@@ -0,0 +1,13 @@
+package com.mrngwozdz.service.telegram.data.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TelegramWebhookReply(
+        String method,
+        @JsonProperty("chat_id") String chatId,
+        String text
+) {
+    public static TelegramWebhookReply sendMessage(String chatId, String text) {
+        return new TelegramWebhookReply("sendMessage", chatId, text);
+    }
+}
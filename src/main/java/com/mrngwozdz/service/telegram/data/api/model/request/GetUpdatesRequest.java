@@ -0,0 +1,7 @@
+package com.mrngwozdz.service.telegram.data.api.model.request;
+
+public record GetUpdatesRequest(
+        long offset,
+        int limit,
+        long timeout
+) {}
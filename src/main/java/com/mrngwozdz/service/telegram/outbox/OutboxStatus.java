@@ -0,0 +1,8 @@
+package com.mrngwozdz.service.telegram.outbox;
+
+public enum OutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,150 @@
+package com.mrngwozdz.service.telegram.outbox;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.telegram.MessagePriority;
+import com.mrngwozdz.service.telegram.TelegramDispatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import io.vavr.control.Either;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// a crash after Telegram accepted a reply but before it was marked sent causes one duplicate after the lease
+@Slf4j
+@ApplicationScoped
+public class TelegramOutbox {
+
+    private final TelegramOutboxRepository repository;
+    private final TelegramDispatcher dispatcher;
+    private final TelegramProperties.Outbox properties;
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock claimLock = new ReentrantLock();
+    private final ExecutorService waker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "telegram-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Inject
+    public TelegramOutbox(TelegramOutboxRepository repository, TelegramDispatcher dispatcher,
+                          TelegramProperties telegramProperties, MeterRegistry registry) {
+        this.repository = repository;
+        this.dispatcher = dispatcher;
+        this.properties = telegramProperties.outbox();
+        this.registry = registry;
+
+        Gauge.builder("telegram.outbox.in-flight", inFlight, AtomicInteger::get).register(registry);
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    public Either<Failure, Success<Long>> submit(String chatId, String text, MessagePriority priority) {
+        try {
+            var message = repository.enqueue(chatId, text, priority);
+            wake();
+            return Either.right(Success.of(message.getId()));
+        } catch (RuntimeException e) {
+            log.error("Failed to write Telegram reply to the outbox: {}", e.getMessage(), e);
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to write to the outbox").with("exception", e.getMessage()));
+        }
+    }
+
+    public void wake() {
+        if (properties.enabled()) {
+            waker.execute(this::poll);
+        }
+    }
+
+    @Scheduled(every = "${telegram.outbox.poll-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void poll() {
+        if (!properties.enabled() || !claimLock.tryLock()) {
+            return;
+        }
+        try {
+            int abandoned = repository.abandonExpired(properties.maxAttempts());
+            if (abandoned > 0) {
+                log.warn("Gave up on {} Telegram messages abandoned on their last attempt", abandoned);
+            }
+
+            int free = properties.batchSize() - inFlight.get();
+            if (free <= 0) {
+                return;
+            }
+            for (var message : repository.claim(free, properties.lease(), properties.maxAttempts())) {
+                inFlight.incrementAndGet();
+                dispatcher.send(message.getChatId(), message.getText(), message.getPriority())
+                        .whenComplete((result, error) -> complete(message, result, error));
+            }
+        } catch (Exception e) {
+            log.error("Failed to claim Telegram outbox messages: {}", e.getMessage(), e);
+        } finally {
+            claimLock.unlock();
+        }
+    }
+
+    private void complete(TelegramOutboxEntity message, Either<Failure, Success<String>> result, Throwable error) {
+        try {
+            if (error == null && result.isRight()) {
+                repository.markSent(message.getId(), message.getAttempts());
+                count("sent");
+                return;
+            }
+            var failure = error != null
+                    ? Failure.of(ErrorCode.UNKNOWN, String.valueOf(error.getMessage()))
+                    : result.getLeft();
+            if (isPermanent(failure) || message.getAttempts() >= properties.maxAttempts()) {
+                log.warn("Giving up on Telegram message {} to chat {}: {}", message.getId(), message.getChatId(), failure.message());
+                repository.fail(message.getId(), message.getAttempts(), failure.message());
+                count("failed");
+            } else {
+                var availableAt = Instant.now().plus(properties.retryBackoff().multipliedBy(message.getAttempts()));
+                repository.retry(message.getId(), message.getAttempts(), failure.message(), availableAt);
+                count("retried");
+            }
+        } catch (RuntimeException e) {
+            // the lease expires and the message is claimed again
+            log.error("Failed to record outcome of Telegram message {}: {}", message.getId(), e.getMessage(), e);
+        } finally {
+            inFlight.decrementAndGet();
+            wake();
+        }
+    }
+
+    private static boolean isPermanent(Failure failure) {
+        return failure.context().get("status") instanceof Integer status && status >= 400 && status < 500 && status != 429;
+    }
+
+    @Scheduled(every = "1h", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purge() {
+        if (properties.enabled()) {
+            long purged = repository.purgeSent(Instant.now().minus(properties.retention()));
+            if (purged > 0) {
+                log.info("Purged {} sent Telegram messages from the outbox", purged);
+            }
+        }
+    }
+
+    private void count(String outcome) {
+        registry.counter("telegram.outbox.processed", "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    void close() {
+        waker.shutdownNow();
+    }
+}
@@ -0,0 +1,88 @@
+package com.mrngwozdz.service.telegram.outbox;
+
+import com.mrngwozdz.service.telegram.MessagePriority;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// only the head of each chat can be claimed, so a chat's messages leave in order however many nodes dispatch
+@ApplicationScoped
+public class TelegramOutboxRepository implements PanacheRepositoryBase<TelegramOutboxEntity, Long> {
+
+    @Transactional
+    public TelegramOutboxEntity enqueue(String chatId, String text, MessagePriority priority) {
+        var now = Instant.now();
+        var message = new TelegramOutboxEntity();
+        message.setChatId(chatId);
+        message.setText(text);
+        message.setPriority(priority);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setAvailableAt(now);
+        message.setCreatedAt(now);
+        persist(message);
+        return message;
+    }
+
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<TelegramOutboxEntity> claim(int limit, Duration lease, int maxAttempts) {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE telegram_outbox o
+                        SET status = 'SENDING', attempts = o.attempts + 1,
+                            locked_until = now() + make_interval(secs => ?2)
+                        WHERE o.id IN (
+                            SELECT c.id FROM telegram_outbox c
+                            WHERE c.available_at <= now() AND c.attempts < ?3
+                              AND (c.status = 'PENDING' OR (c.status = 'SENDING' AND c.locked_until < now()))
+                              AND NOT EXISTS (
+                                  SELECT 1 FROM telegram_outbox e
+                                  WHERE e.chat_id = c.chat_id AND e.id < c.id AND e.status IN ('PENDING', 'SENDING'))
+                            ORDER BY c.priority, c.id
+                            LIMIT ?1
+                            FOR UPDATE SKIP LOCKED)
+                        RETURNING o.*
+                        """, TelegramOutboxEntity.class)
+                .setParameter(1, limit)
+                .setParameter(2, (double) lease.toSeconds())
+                .setParameter(3, maxAttempts)
+                .getResultList();
+    }
+
+    @Transactional
+    public int abandonExpired(int maxAttempts) {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE telegram_outbox
+                        SET status = 'FAILED', error_message = 'Abandoned after its last attempt', locked_until = NULL
+                        WHERE status = 'SENDING' AND locked_until < now() AND attempts >= ?1
+                        """)
+                .setParameter(1, maxAttempts)
+                .executeUpdate();
+    }
+
+    @Transactional
+    public boolean markSent(long id, int attempt) {
+        return update("status = ?1, sentAt = ?2, lockedUntil = null, errorMessage = null where id = ?3 and attempts = ?4 and status = ?5",
+                OutboxStatus.SENT, Instant.now(), id, attempt, OutboxStatus.SENDING) == 1;
+    }
+
+    @Transactional
+    public boolean retry(long id, int attempt, String error, Instant availableAt) {
+        return update("status = ?1, errorMessage = ?2, availableAt = ?3, lockedUntil = null where id = ?4 and attempts = ?5 and status = ?6",
+                OutboxStatus.PENDING, error, availableAt, id, attempt, OutboxStatus.SENDING) == 1;
+    }
+
+    @Transactional
+    public boolean fail(long id, int attempt, String error) {
+        return update("status = ?1, errorMessage = ?2, lockedUntil = null where id = ?3 and attempts = ?4 and status = ?5",
+                OutboxStatus.FAILED, error, id, attempt, OutboxStatus.SENDING) == 1;
+    }
+
+    @Transactional
+    public long purgeSent(Instant before) {
+        return delete("status = ?1 and sentAt < ?2", OutboxStatus.SENT, before);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mrngwozdz.service.telegram.photo;
+
+import lombok.Getter;
+
+@Getter
+public final class TelegramPhotoHelper {
+    private String fileId;
+    private String fileName;
+    private String contentType;
+    private long fileSize = -1;
+    private String filePath;
+    private String objectName;
+
+    public TelegramPhotoHelper setFileId(String fileId) {
+        this.fileId = fileId;
+        return this;
+    }
+
+    public TelegramPhotoHelper setFileName(String fileName) {
+        this.fileName = fileName;
+        return this;
+    }
+
+    public TelegramPhotoHelper setContentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public TelegramPhotoHelper setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+        return this;
+    }
+
+    public TelegramPhotoHelper setFilePath(String filePath) {
+        this.filePath = filePath;
+        return this;
+    }
+
+    public TelegramPhotoHelper setObjectName(String objectName) {
+        this.objectName = objectName;
+        return this;
+    }
+}
@@ -0,0 +1,125 @@
+package com.mrngwozdz.service.telegram.photo;
+
+import com.mrngwozdz.platform.io.SpooledContent;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.service.minio.MinioService;
+import com.mrngwozdz.service.telegram.data.api.TelegramClient;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramDocument;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramFile;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramPhotoSize;
+import io.vavr.control.Either;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+public class TelegramPhotoMethods {
+
+    private static final Set<String> SUPPORTED_DOCUMENT_TYPES = Set.of("image/png", "image/jpeg");
+
+    private TelegramPhotoMethods() {}
+
+    public static Either<Failure, TelegramPhotoSize> choosePhotoSize(List<TelegramPhotoSize> sizes, int targetDimension,
+                                                                     long maxFileSize) {
+        var candidates = sizes.stream()
+                .filter(size -> size.fileId() != null)
+                .filter(size -> size.fileSize() == null || size.fileSize() <= maxFileSize)
+                .sorted(Comparator.comparingInt(TelegramPhotoMethods::longerSide))
+                .toList();
+        if (candidates.isEmpty()) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Photo is too large to download")
+                    .with("maxFileSize", maxFileSize));
+        }
+        return Either.right(candidates.stream()
+                .filter(size -> longerSide(size) >= targetDimension)
+                .findFirst()
+                .orElse(candidates.getLast()));
+    }
+
+    public static Either<Failure, TelegramDocument> checkDocument(TelegramDocument document, long maxFileSize) {
+        if (document.mimeType() == null || !SUPPORTED_DOCUMENT_TYPES.contains(document.mimeType())) {
+            return Either.left(Failure.of(ErrorCode.INVALID_FILE_TYPE, "Only PNG, JPG and JPEG files are supported"));
+        }
+        if (document.fileSize() != null && document.fileSize() > maxFileSize) {
+            return Either.left(Failure.of(ErrorCode.VALIDATION, "Document is too large to download")
+                    .with("maxFileSize", maxFileSize));
+        }
+        return Either.right(document);
+    }
+
+    public static Either<Failure, TelegramFile> resolveFile(TelegramClient telegramClient, String botToken, String fileId) {
+        try {
+            var response = telegramClient.getFile(botToken, fileId);
+            if (response == null || !response.ok() || response.result() == null || response.result().filePath() == null) {
+                return Either.left(Failure.of(ErrorCode.NOT_FOUND, "Telegram file is not available")
+                        .with("fileId", fileId)
+                        .with("description", response != null ? response.description() : null));
+            }
+            return Either.right(response.result());
+        } catch (Exception e) {
+            log.error("Failed to resolve Telegram file {}: {}", fileId, e.getMessage());
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to resolve Telegram file").with("exception", e.getMessage()));
+        }
+    }
+
+    public static Either<Failure, String> streamToMinio(HttpClient httpClient, URI fileUri, Duration timeout,
+                                                        int spillThreshold, Path spillDirectory, String fileName,
+                                                        String contentType, MinioService minioService) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        var request = HttpRequest.newBuilder(fileUri).timeout(timeout).GET().build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to download Telegram file")
+                            .with("status", response.statusCode()));
+                }
+                try (SpooledContent content = spoolBefore(deadline, body, spillThreshold, spillDirectory)) {
+                    return minioService.uploadImage(content, fileName, contentType);
+                }
+            }
+        } catch (HttpTimeoutException | TimeoutException e) {
+            return Either.left(Failure.of(ErrorCode.TIMEOUT, "Telegram file download timed out"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Telegram file download interrupted"));
+        } catch (Exception e) {
+            log.error("Failed to download Telegram file: {}", e.getMessage());
+            return Either.left(Failure.of(ErrorCode.IO_ERROR, "Failed to download Telegram file").with("exception", e.getMessage()));
+        }
+    }
+
+    // the request timeout only covers the response headers, so the body is read on its own thread against the deadline
+    private static SpooledContent spoolBefore(long deadline, InputStream body, int spillThreshold, Path spillDirectory)
+            throws IOException, InterruptedException, TimeoutException {
+        var download = new FutureTask<>(() -> SpooledContent.spool(body, spillThreshold, spillDirectory));
+        Thread.ofVirtual().name("telegram-file-download").start(download);
+        try {
+            return download.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            download.cancel(true);
+        }
+    }
+
+    private static int longerSide(TelegramPhotoSize size) {
+        return Math.max(size.width() != null ? size.width() : 0, size.height() != null ? size.height() : 0);
+    }
+}
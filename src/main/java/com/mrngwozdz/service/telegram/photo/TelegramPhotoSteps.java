@@ -0,0 +1,59 @@
+package com.mrngwozdz.service.telegram.photo;
+
+import com.mrngwozdz.configuration.properties.UploadProperties;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.service.minio.MinioService;
+import com.mrngwozdz.service.telegram.data.api.TelegramClient;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import io.vavr.control.Either;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.mrngwozdz.service.telegram.photo.TelegramPhotoMethods.*;
+
+public class TelegramPhotoSteps {
+
+    private TelegramPhotoSteps() {}
+
+    public static Either<Failure, TelegramPhotoHelper> selectFile(TelegramPhotoHelper h, TelegramMessage message,
+                                                                  int targetDimension, long maxFileSize) {
+        if (message.photo() != null && !message.photo().isEmpty()) {
+            // Telegram re-encodes every photo size as JPEG
+            return choosePhotoSize(message.photo(), targetDimension, maxFileSize)
+                    .map(size -> h.setFileId(size.fileId())
+                            .setFileSize(size.fileSize() != null ? size.fileSize() : -1)
+                            .setFileName("telegram_" + size.fileUniqueId() + ".jpg")
+                            .setContentType("image/jpeg"));
+        }
+        if (message.document() != null) {
+            return checkDocument(message.document(), maxFileSize)
+                    .map(document -> h.setFileId(document.fileId())
+                            .setFileSize(document.fileSize() != null ? document.fileSize() : -1)
+                            .setFileName(document.fileName() != null ? document.fileName() : "telegram_" + document.fileUniqueId())
+                            .setContentType(document.mimeType()));
+        }
+        return Either.left(Failure.of(ErrorCode.VALIDATION, "Message has no photo or document"));
+    }
+
+    public static Either<Failure, TelegramPhotoHelper> resolveFilePath(TelegramPhotoHelper h, TelegramClient telegramClient,
+                                                                       String botToken) {
+        return resolveFile(telegramClient, botToken, h.getFileId())
+                .map(file -> h.setFilePath(file.filePath())
+                        .setFileSize(file.fileSize() != null ? file.fileSize() : h.getFileSize()));
+    }
+
+    public static Either<Failure, TelegramPhotoHelper> downloadToMinio(TelegramPhotoHelper h, HttpClient httpClient,
+                                                                       String apiUrl, String botToken, Duration timeout,
+                                                                       UploadProperties uploadProperties,
+                                                                       MinioService minioService) {
+        URI fileUri = URI.create(apiUrl + "/file/bot" + botToken + "/" + h.getFilePath());
+        Path spillDirectory = uploadProperties.spillDirectory().map(Path::of).orElse(null);
+        return streamToMinio(httpClient, fileUri, timeout, uploadProperties.spillThreshold(), spillDirectory,
+                h.getFileName(), h.getContentType(), minioService)
+                .map(h::setObjectName);
+    }
+}
@@ -0,0 +1,21 @@
+package com.mrngwozdz.service.telegram.shard;
+
+public final class ShardMap {
+
+    private ShardMap() {}
+
+    public static int shardOf(long chatId, int shards) {
+        // murmur3 finalizer, so consecutive chat ids spread over all shards
+        long mixed = chatId;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return (int) Math.floorMod(mixed, (long) shards);
+    }
+
+    public static int targetCount(int shards, int liveNodes) {
+        return (shards + Math.max(1, liveNodes) - 1) / Math.max(1, liveNodes);
+    }
+}
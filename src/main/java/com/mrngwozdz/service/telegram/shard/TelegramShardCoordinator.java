@@ -0,0 +1,255 @@
+package com.mrngwozdz.service.telegram.shard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import io.vavr.control.Either;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+@Slf4j
+@ApplicationScoped
+public class TelegramShardCoordinator {
+
+    // first key of the two-int advisory lock, so shard locks cannot collide with other advisory lock users
+    static final int LOCK_NAMESPACE = 0x5447_5348;
+
+    private final TelegramShardRepository repository;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final TelegramProperties.Sharding properties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<Integer> owned = ConcurrentHashMap.newKeySet();
+    // shards no longer routed here keep their lock until their queued updates have finished
+    private final Set<Integer> releasing = new HashSet<>();
+    private final AtomicIntegerArray inFlight;
+    // owned shards with forwarded rows waiting, refreshed by every drain so webhooks need no query to check
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock rebalanceLock = new ReentrantLock();
+    private final Counter forwarded;
+    private final Counter drained;
+    private volatile Predicate<TelegramUpdate> handler = update -> false;
+    private Connection lockConnection;
+
+    @Inject
+    public TelegramShardCoordinator(TelegramShardRepository repository, DataSource dataSource, ObjectMapper objectMapper,
+                                    TelegramProperties telegramProperties, MeterRegistry registry) {
+        this.repository = repository;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.properties = telegramProperties.sharding();
+        this.inFlight = new AtomicIntegerArray(properties.shards());
+
+        Gauge.builder("telegram.shards.owned", owned, Set::size).register(registry);
+        this.forwarded = registry.counter("telegram.shards.forwarded");
+        this.drained = registry.counter("telegram.shards.drained");
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    public void onForwarded(Predicate<TelegramUpdate> handler) {
+        this.handler = handler;
+    }
+
+    public boolean ownsChat(long chatId) {
+        return owned.contains(ShardMap.shardOf(chatId, properties.shards()));
+    }
+
+    public boolean hasPending(long chatId) {
+        return pending.contains(ShardMap.shardOf(chatId, properties.shards()));
+    }
+
+    public void updateStarted(long chatId) {
+        inFlight.incrementAndGet(ShardMap.shardOf(chatId, properties.shards()));
+    }
+
+    public void updateFinished(long chatId) {
+        inFlight.decrementAndGet(ShardMap.shardOf(chatId, properties.shards()));
+    }
+
+    Set<Integer> ownedShards() {
+        return Set.copyOf(owned);
+    }
+
+    public Either<Failure, Success<String>> forward(TelegramUpdate update, long chatId) {
+        int shard = ShardMap.shardOf(chatId, properties.shards());
+        try {
+            repository.forward(shard, update.updateId(), objectMapper.writeValueAsString(update));
+            if (owned.contains(shard)) {
+                pending.add(shard);
+            }
+            forwarded.increment();
+            return Either.right(Success.of("Update forwarded"));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Failed to forward Telegram update {} to shard {}: {}", update.updateId(), shard, e.getMessage());
+            return Either.left(Failure.of(ErrorCode.UNAVAILABLE, "Failed to forward update").with("shard", shard));
+        }
+    }
+
+    @Scheduled(every = "${telegram.sharding.heartbeat-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void rebalance() {
+        if (!properties.enabled() || !rebalanceLock.tryLock()) {
+            return;
+        }
+        try {
+            ensureLockConnection();
+            int liveNodes = repository.heartbeat(nodeId, properties.nodeTimeout());
+            int target = ShardMap.targetCount(properties.shards(), liveNodes);
+
+            var iterator = releasing.iterator();
+            while (iterator.hasNext()) {
+                int shard = iterator.next();
+                if (inFlight.get(shard) == 0) {
+                    unlock(shard);
+                    iterator.remove();
+                }
+            }
+
+            var surplus = owned.stream().sorted(Comparator.reverseOrder()).limit(Math.max(0, owned.size() - target)).toList();
+            for (int shard : surplus) {
+                owned.remove(shard);
+                releasing.add(shard);
+            }
+
+            // start at a node-specific shard so nodes joining together do not all race for the same locks
+            int start = Math.floorMod(nodeId.hashCode(), properties.shards());
+            for (int i = 0; i < properties.shards() && owned.size() < target; i++) {
+                int shard = (start + i) % properties.shards();
+                if (!owned.contains(shard) && !releasing.contains(shard) && tryLock(shard)) {
+                    // the previous owner may have left forwarded rows behind; the next drain finds out
+                    pending.add(shard);
+                    owned.add(shard);
+                }
+            }
+            if (!surplus.isEmpty()) {
+                log.info("Releasing Telegram shards {} ({} live nodes, target {})", surplus, liveNodes, target);
+            }
+        } catch (Exception e) {
+            log.error("Telegram shard rebalance failed, dropping all shards: {}", e.getMessage(), e);
+            resetLockConnection();
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    @Scheduled(every = "${telegram.sharding.drain-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void drain() {
+        if (!properties.enabled() || owned.isEmpty()) {
+            return;
+        }
+        var shards = Set.copyOf(owned);
+        try {
+            repository.drain(shards, properties.drainBatchSize(), this::deliver);
+            var stillPending = repository.pendingShards(shards);
+            pending.removeIf(shard -> shards.contains(shard) && !stillPending.contains(shard));
+            pending.addAll(stillPending);
+        } catch (Exception e) {
+            log.error("Failed to drain forwarded Telegram updates: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean deliver(TelegramForwardedUpdateEntity entity) {
+        TelegramUpdate update;
+        try {
+            update = objectMapper.readValue(entity.getPayload(), TelegramUpdate.class);
+        } catch (JsonProcessingException e) {
+            log.error("Discarding unreadable forwarded Telegram update {}: {}", entity.getUpdateId(), e.getMessage());
+            return true;
+        }
+        if (!handler.test(update)) {
+            return false;
+        }
+        drained.increment();
+        return true;
+    }
+
+    private boolean tryLock(int shard) throws SQLException {
+        try (PreparedStatement statement = lockConnection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, shard);
+            try (var result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(int shard) throws SQLException {
+        try (PreparedStatement statement = lockConnection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, shard);
+            statement.execute();
+        }
+    }
+
+    private void ensureLockConnection() throws SQLException {
+        if (lockConnection != null && lockConnection.isValid(2)) {
+            return;
+        }
+        // a lost connection released every lock it held
+        resetLockConnection();
+        lockConnection = dataSource.getConnection();
+        lockConnection.setAutoCommit(true);
+        log.info("Telegram node {} joined shard coordination", nodeId);
+    }
+
+    void resetLockConnection() {
+        owned.clear();
+        releasing.clear();
+        pending.clear();
+        if (lockConnection != null) {
+            // the pool keeps the session open, and with it every lock, unless they are released first
+            try (var statement = lockConnection.createStatement()) {
+                statement.execute("SELECT pg_advisory_unlock_all()");
+            } catch (SQLException e) {
+                log.debug("Failed to release advisory locks: {}", e.getMessage());
+            }
+            try {
+                lockConnection.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close advisory lock connection: {}", e.getMessage());
+            }
+            lockConnection = null;
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (!properties.enabled()) {
+            return;
+        }
+        rebalanceLock.lock();
+        try {
+            resetLockConnection();
+            repository.leave(nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to leave shard coordination: {}", e.getMessage());
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+}
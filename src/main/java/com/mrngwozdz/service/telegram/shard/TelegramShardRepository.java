@@ -0,0 +1,102 @@
+package com.mrngwozdz.service.telegram.shard;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@ApplicationScoped
+public class TelegramShardRepository implements PanacheRepositoryBase<TelegramForwardedUpdateEntity, Long> {
+
+    @Transactional
+    public int heartbeat(String nodeId, Duration nodeTimeout) {
+        var entityManager = getEntityManager();
+        entityManager.createNativeQuery("""
+                        INSERT INTO telegram_nodes (node_id, heartbeat_at) VALUES (?1, now())
+                        ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()
+                        """)
+                .setParameter(1, nodeId)
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM telegram_nodes WHERE heartbeat_at < now() - make_interval(secs => ?1)")
+                .setParameter(1, (double) nodeTimeout.toSeconds())
+                .executeUpdate();
+        return ((Number) entityManager.createNativeQuery("SELECT count(*) FROM telegram_nodes").getSingleResult()).intValue();
+    }
+
+    @Transactional
+    public void leave(String nodeId) {
+        getEntityManager().createNativeQuery("DELETE FROM telegram_nodes WHERE node_id = ?1")
+                .setParameter(1, nodeId)
+                .executeUpdate();
+    }
+
+    @Transactional
+    public void forward(int shard, long updateId, String payload) {
+        getEntityManager().createNativeQuery("""
+                        INSERT INTO telegram_forwarded_updates (shard, update_id, payload, created_at)
+                        VALUES (?1, ?2, CAST(?3 AS jsonb), now())
+                        """)
+                .setParameter(1, shard)
+                .setParameter(2, updateId)
+                .setParameter(3, payload)
+                .executeUpdate();
+    }
+
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Set<Integer> pendingShards(Collection<Integer> shards) {
+        List<Number> rows = getEntityManager()
+                .createNativeQuery("SELECT DISTINCT shard FROM telegram_forwarded_updates WHERE shard = ANY (CAST(?1 AS int[]))")
+                .setParameter(1, toArray(shards))
+                .getResultList();
+        return rows.stream().map(Number::intValue).collect(Collectors.toSet());
+    }
+
+    // rows are deleted in the transaction that handed them over, so a rejected or crashed hand-over keeps them;
+    // after the first rejection in a shard its later rows wait too, keeping the shard in order
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public int drain(Collection<Integer> shards, int limit, Predicate<TelegramForwardedUpdateEntity> handler) {
+        List<TelegramForwardedUpdateEntity> rows = getEntityManager().createNativeQuery("""
+                        SELECT * FROM telegram_forwarded_updates
+                        WHERE shard = ANY (CAST(?1 AS int[]))
+                        ORDER BY id
+                        LIMIT ?2
+                        FOR UPDATE SKIP LOCKED
+                        """, TelegramForwardedUpdateEntity.class)
+                .setParameter(1, toArray(shards))
+                .setParameter(2, limit)
+                .getResultList();
+
+        List<Long> handed = new ArrayList<>();
+        Set<Integer> blocked = new HashSet<>();
+        for (var row : rows) {
+            if (blocked.contains(row.getShard())) {
+                continue;
+            }
+            if (handler.test(row)) {
+                handed.add(row.getId());
+            } else {
+                blocked.add(row.getShard());
+            }
+        }
+        if (!handed.isEmpty()) {
+            getEntityManager().createNativeQuery("DELETE FROM telegram_forwarded_updates WHERE id = ANY (CAST(?1 AS bigint[]))")
+                    .setParameter(1, toArray(handed))
+                    .executeUpdate();
+        }
+        return handed.size();
+    }
+
+    private static String toArray(Collection<? extends Number> values) {
+        return values.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+}
@@ -60,6 +60,103 @@ class RestApiClient {
 
         return await response.json();
     }
+
+    /**
+     * Send a text message and receive the response as it is generated
+     * @param {string} text - The message text to send
+     * @param {function(string): void} onDelta - Called with every chunk of the response
+     * @returns {Promise<void>} Resolves when the response is complete
+     */
+    async streamMessage(text, onDelta) {
+        const messageRequest = new MessageRequest(text);
+
+        const response = await fetch('/message/stream', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+                'Accept': 'text/event-stream'
+            },
+            body: JSON.stringify(messageRequest.toJSON())
+        });
+
+        await this.readEventStream(response, onDelta);
+    }
+
+    /**
+     * Upload a file with optional text message and receive the response as it is generated
+     * @param {File} file - The file to upload
+     * @param {string} text - Optional text to send with the file
+     * @param {function(string): void} onDelta - Called with every chunk of the response
+     * @param {string} fileName - Optional file name
+     * @returns {Promise<void>} Resolves when the response is complete
+     */
+    async streamUpload(file, text, onDelta, fileName = null) {
+        const uploadRequest = new FileUploadRequest(file, text, fileName || file.name);
+
+        const response = await fetch('/upload/stream', {
+            method: 'POST',
+            headers: {
+                'Accept': 'text/event-stream'
+            },
+            body: uploadRequest.toFormData()
+        });
+
+        await this.readEventStream(response, onDelta);
+    }
+
+    /**
+     * Read a Server-Sent Events response: 'delta' events are passed to onDelta,
+     * an 'error' event rejects and a 'done' event resolves
+     * @param {Response} response - Fetch response with a text/event-stream body
+     * @param {function(string): void} onDelta - Called with every chunk of the response
+     * @returns {Promise<void>}
+     */
+    async readEventStream(response, onDelta) {
+        if (!response.ok) {
+            throw new Error(`HTTP ${response.status}: ${response.statusText}`);
+        }
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+
+        while (true) {
+            const { value, done } = await reader.read();
+            if (done) {
+                return;
+            }
+
+            buffer += value.replace(/\r\n?/g, '\n');
+            let boundary;
+            while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+                const event = this.parseEvent(buffer.slice(0, boundary));
+                buffer = buffer.slice(boundary + 2);
+
+                if (event.name === 'delta') {
+                    onDelta(event.data);
+                } else if (event.name === 'error') {
+                    const problem = JSON.parse(event.data);
+                    reader.cancel();
+                    throw new Error(`${problem.code}: ${problem.error}`);
+                } else if (event.name === 'done') {
+                    reader.cancel();
+                    return;
+                }
+            }
+        }
+    }
+
+    parseEvent(block) {
+        let name = 'message';
+        const data = [];
+        for (const line of block.split('\n')) {
+            if (line.startsWith('event:')) {
+                name = line.slice(6).trim();
+            } else if (line.startsWith('data:')) {
+                data.push(line.slice(5).replace(/^ /, ''));
+            }
+        }
+        return { name, data: data.join('\n') };
+    }
 }
 
 // ========== API Model Objects ==========
@@ -73,7 +170,9 @@ const API_ENDPOINTS = {
 
     // Chat/Message endpoints
     MESSAGE: '/api/message',
-    UPLOAD: '/api/upload'
+    UPLOAD: '/api/upload',
+    MESSAGE_STREAM: '/message/stream',
+    UPLOAD_STREAM: '/upload/stream'
 };
 
 const HTTP_METHODS = {
@@ -74,25 +74,28 @@ class ChatApp {
         this.messageInput.value = '';
         this.messageInput.style.height = 'auto';
 
+        let botBubble = null;
+
         try {
-            let result;
+            // Render the response as it arrives; the bubble appears with the first chunk
+            const onDelta = (chunk) => {
+                if (!botBubble) {
+                    botBubble = this.addMessage('', 'bot');
+                    this.statusContainer.style.display = 'none';
+                }
+                botBubble.textContent += chunk;
+                this.scrollToBottom();
+            };
 
             if (hasFile) {
                 // Send with file upload using API client
-                result = await this.apiClient.uploadFile(this.selectedFile, text);
+                await this.apiClient.streamUpload(this.selectedFile, text, onDelta);
             } else {
                 // Send text only using API client
-                result = await this.apiClient.sendMessage(text);
+                await this.apiClient.streamMessage(text, onDelta);
             }
-            
-            // Add bot response to UI
-            if (result.processMessage && result.processMessage.value) {
-                this.addMessage(result.processMessage.value, 'bot');
-            } else if (result.payload) {
-                this.addMessage(result.payload, 'bot');
-            } else if (result.message) {
-                this.addMessage(result.message, 'bot');
-            } else {
+
+            if (!botBubble) {
                 this.addMessage('Otrzymałem twoją wiadomość!', 'bot');
             }
 
@@ -126,6 +129,7 @@ class ChatApp {
 
         this.messagesContainer.appendChild(messageDiv);
         this.scrollToBottom();
+        return bubbleDiv;
     }
 
     addErrorMessage(text) {
@@ -0,0 +1,58 @@
+package com.mrngwozdz.api.provider;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TelegramUpdateReaderTest {
+
+    private final TelegramUpdateReader reader = new TelegramUpdateReader(
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false),
+            new SimpleMeterRegistry());
+
+    @Test
+    void shouldBindMessageUpdate() throws IOException {
+        // when
+        var update = read("""
+                {"update_id":7,"message":{"message_id":3,"chat":{"id":42,"type":"private"},"text":"hi","entities":[]}}
+                """);
+
+        // then
+        assertThat(update.updateId()).isEqualTo(7L);
+        assertThat(update.message().text()).isEqualTo("hi");
+        assertThat(update.message().chat().id()).isEqualTo(42L);
+    }
+
+    @Test
+    void shouldSkipUnsupportedUpdateTypeWithoutReadingItsPayload() throws IOException {
+        // when
+        var update = read("""
+                {"update_id":8,"edited_message":{"message_id":3, this part is never parsed
+                """);
+
+        // then
+        assertThat(update.updateId()).isEqualTo(8L);
+        assertThat(update.message()).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedBody() {
+        assertThatThrownBy(() -> read("not json")).isInstanceOf(BadRequestException.class);
+    }
+
+    private TelegramUpdate read(String body) throws IOException {
+        return reader.readFrom(TelegramUpdate.class, TelegramUpdate.class, null, MediaType.APPLICATION_JSON_TYPE, null,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.mrngwozdz.behavioral;
+
+import com.mrngwozdz.AbstractIntegrationTest;
+import com.mrngwozdz.controller.EventControllerUtils;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+@QuarkusTest
+@TestProfile(EventsAuthorizationTest.ProdProfile.class)
+class EventsAuthorizationTest extends AbstractIntegrationTest {
+
+    @Test
+    void shouldRequireAuthenticationForEvents() {
+        EventControllerUtils.getEvents()
+                .statusCode(401);
+    }
+
+    @Test
+    void shouldRequireAuthenticationForEventsByType() {
+        EventControllerUtils.getEventsByType("API_REQUEST")
+                .statusCode(401);
+    }
+
+    @Test
+    void shouldRequireAuthenticationForEventSearch() {
+        EventControllerUtils.searchEvents("{\"methodName\":\"receiveWebhook\"}")
+                .statusCode(401);
+    }
+
+    public static class ProdProfile implements QuarkusTestProfile {
+
+        @Override
+        public String getConfigProfile() {
+            return "prod";
+        }
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "openai.token", "test_token",
+                    "telegram.bot.token", "test_token",
+                    "quarkus.oidc.credentials.secret", "test_secret",
+                    "telegram.outbox.enabled", "false");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mrngwozdz.behavioral;
+
+import com.mrngwozdz.AbstractIntegrationTest;
+import com.mrngwozdz.api.model.response.JobResponse;
+import com.mrngwozdz.controller.JobControllerUtils;
+import com.mrngwozdz.integration.openai.OpenAiService;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.vavr.control.Either;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+class JobControllerTest extends AbstractIntegrationTest {
+
+    @InjectMock
+    OpenAiService openAiService;
+
+    @Test
+    void shouldAcceptMessageAndProcessItInBackground() throws InterruptedException {
+        // Mock OpenAI service response
+        Mockito.when(openAiService.processRequest(Mockito.any(OpenAiProcessRequest.class)))
+                .thenReturn(Either.right("{\"response\": \"Processed in background!\"}"));
+
+        var request = """
+                    {"text": "Hello World!"}
+                    """;
+        var accepted = JobControllerUtils.submitMessage(request)
+                .statusCode(202)
+                .header("Location", containsString("/jobs/"))
+                .extract().as(JobResponse.class);
+
+        var job = awaitFinished(accepted.id().toString());
+
+        assertThat(job.status()).isEqualTo("SUCCEEDED");
+        assertThat(job.processMessage().value()).isEqualTo("Processed in background!");
+    }
+
+    @Test
+    void shouldRejectInvalidMessageWithoutCreatingJob() {
+        var request = """
+                    {"text": ""}
+                    """;
+        JobControllerUtils.submitMessage(request)
+                .statusCode(400);
+
+        Mockito.verifyNoInteractions(openAiService);
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownJob() {
+        JobControllerUtils.getJob(UUID.randomUUID().toString())
+                .statusCode(404);
+    }
+
+    private static JobResponse awaitFinished(String id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            var job = JobControllerUtils.getJob(id)
+                    .statusCode(200)
+                    .extract().as(JobResponse.class);
+            if (job.finishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Job " + id + " did not finish in time");
+    }
+}
@@ -5,8 +5,12 @@ import com.mrngwozdz.api.model.response.ProcessMessageResponse;
 import com.mrngwozdz.controller.PublicControllerUtils;
 import com.mrngwozdz.integration.openai.OpenAiService;
 import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.FailureException;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
 import io.vavr.control.Either;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -17,6 +21,8 @@ import org.mockito.Mockito;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Base64;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -168,4 +174,63 @@ class PublicControllerTest extends AbstractIntegrationTest {
         assertThat(response.processMessage().value()).contains("Image processed successfully!");
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldHandleLargeBase64ImageInJsonMessage() {
+        // Mock OpenAI service response
+        Mockito.when(openAiService.processRequest(Mockito.any(OpenAiProcessRequest.class)))
+                .thenReturn(Either.right("{\"response\": \"Receipt processed!\"}"));
+
+        // Image larger than upload.spill-threshold, so it is decoded into a spill file
+        byte[] imageBytes = new byte[2 * 1024 * 1024];
+        new Random(7).nextBytes(imageBytes);
+        var request = """
+                {"text": "Receipt", "image_filename": "receipt.jpg", "image_data": "%s"}
+                """.formatted(Base64.getEncoder().encodeToString(imageBytes));
+
+        var response = PublicControllerUtils.processMessage(request)
+                .statusCode(200)
+                .extract().as(ProcessMessageResponse.class);
+
+        Mockito.verify(openAiService).processRequest(Mockito.argThat(openAiRequest ->
+            openAiRequest.imageUrl() != null && openAiRequest.imageUrl().contains(".jpg")
+        ));
+        assertThat(response.processMessage().value()).contains("Receipt processed!");
+    }
+
+    @Test
+    void shouldStreamMessageResponseAsServerSentEvents() {
+        // Mock OpenAI service stream
+        Mockito.when(openAiService.processStream(Mockito.any(OpenAiProcessRequest.class)))
+                .thenReturn(Multi.createFrom().items("Hello ", "from ", "stream!"));
+
+        var request = """
+                    {"text": "Hello World!"}
+                    """;
+        var body = PublicControllerUtils.processMessageStream(request)
+                .statusCode(200)
+                .extract().asString();
+
+        // Verify chunks arrive in order and the stream is terminated
+        assertThat(body).containsSubsequence("Hello ", "from ", "stream!", "done");
+        Mockito.verify(openAiService, Mockito.never()).processRequest(Mockito.any(OpenAiProcessRequest.class));
+    }
+
+    @Test
+    void shouldSendErrorEventWhenStreamFails() {
+        // Mock OpenAI service stream failing after the first chunk
+        Mockito.when(openAiService.processStream(Mockito.any(OpenAiProcessRequest.class)))
+                .thenReturn(Multi.createBy().concatenating().streams(
+                        Multi.createFrom().item("partial"),
+                        Multi.createFrom().failure(new FailureException(
+                                Failure.of(ErrorCode.UNAVAILABLE, "OpenAI service is temporarily unavailable")))));
+
+        var request = """
+                    {"text": "Hello World!"}
+                    """;
+        var body = PublicControllerUtils.processMessageStream(request)
+                .statusCode(200)
+                .extract().asString();
+
+        assertThat(body).containsSubsequence("partial", "error", "UNAVAILABLE");
+    }
+}
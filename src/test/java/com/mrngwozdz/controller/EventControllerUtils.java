@@ -25,6 +25,15 @@ public class EventControllerUtils {
                 .then();
     }
 
+    public static ValidatableResponse searchEvents(String contains) {
+        return given()
+                .contentType(ContentType.JSON)
+                .queryParam("contains", contains)
+                .when()
+                .get("/events/search")
+                .then();
+    }
+
     public static ValidatableResponse getEventsByType(String eventType) {
         return given()
                 .contentType(ContentType.JSON)
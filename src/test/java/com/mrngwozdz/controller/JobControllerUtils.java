@@ -0,0 +1,28 @@
+package com.mrngwozdz.controller;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import static io.restassured.RestAssured.given;
+
+@Slf4j
+public class JobControllerUtils {
+
+    public static ValidatableResponse submitMessage(Object body) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post("/jobs/message")
+                .then();
+    }
+
+    public static ValidatableResponse getJob(String id) {
+        return given()
+                .when()
+                .get("/jobs/" + id)
+                .then();
+    }
+
+}
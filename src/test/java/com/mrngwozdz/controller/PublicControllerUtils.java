@@ -20,6 +20,16 @@ public class PublicControllerUtils {
                 .then();
     }
 
+    public static ValidatableResponse processMessageStream(Object body) {
+        return given()
+                .contentType(ContentType.JSON)
+                .accept("text/event-stream")
+                .body(body)
+                .when()
+                .post("/message/stream")
+                .then();
+    }
+
     public static ValidatableResponse uploadFile(InputStream fileStream, String fileName, String text) {
         return given()
                 .multiPart("file", fileName, fileStream, "image/png")
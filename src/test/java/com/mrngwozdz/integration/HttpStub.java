@@ -0,0 +1,97 @@
+package com.mrngwozdz.integration;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+// local stand-in for an upstream HTTP API: answers by path suffix and records every request
+public final class HttpStub implements AutoCloseable {
+
+    public record Request(String method, String path, String body) {}
+
+    public record Reply(int status, String contentType, InputStream body, long length) {
+
+        public static Reply json(String json) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            return new Reply(200, "application/json", new ByteArrayInputStream(bytes), bytes.length);
+        }
+
+        public static Reply status(int status) {
+            return new Reply(status, "text/plain", InputStream.nullInputStream(), 0);
+        }
+    }
+
+    private final HttpServer server;
+    private final Map<String, Function<Request, Reply>> routes = new ConcurrentHashMap<>();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    private HttpStub(HttpServer server) {
+        this.server = server;
+    }
+
+    public static HttpStub start() {
+        try {
+            var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            var stub = new HttpStub(server);
+            server.createContext("/", stub::handle);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public HttpStub on(String pathSuffix, Function<Request, Reply> handler) {
+        routes.put(pathSuffix, handler);
+        return this;
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public List<Request> requests() {
+        return List.copyOf(requests);
+    }
+
+    public List<Request> requests(String pathSuffix) {
+        return requests.stream().filter(request -> request.path().endsWith(pathSuffix)).toList();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            var request = new Request(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), body);
+            requests.add(request);
+            var reply = routes.entrySet().stream()
+                    .filter(route -> request.path().endsWith(route.getKey()))
+                    .findFirst()
+                    .map(route -> route.getValue().apply(request))
+                    .orElse(Reply.status(404));
+            exchange.getResponseHeaders().set("Content-Type", reply.contentType());
+            // the JDK server takes -1 for no body and 0 for a chunked body of unknown length
+            exchange.sendResponseHeaders(reply.status(), reply.length() == 0 ? -1 : Math.max(reply.length(), 0));
+            try (var out = exchange.getResponseBody(); var in = reply.body()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
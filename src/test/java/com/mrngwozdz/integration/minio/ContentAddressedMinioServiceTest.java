@@ -0,0 +1,87 @@
+package com.mrngwozdz.integration.minio;
+
+import com.mrngwozdz.AbstractIntegrationTest;
+import com.mrngwozdz.configuration.properties.MinioProperties;
+import com.mrngwozdz.platform.io.SpooledContent;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.service.minio.MinioService;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.vavr.control.Either;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@TestProfile(ContentAddressedMinioServiceTest.ContentAddressedProfile.class)
+class ContentAddressedMinioServiceTest extends AbstractIntegrationTest {
+
+    @Inject
+    MinioService minioService;
+
+    @Inject
+    MinioProperties minioProperties;
+
+    private MinioClient testMinioClient;
+
+    @BeforeEach
+    void setUp() {
+        testMinioClient = MinioClient.builder()
+                .endpoint(minioProperties.endpoint())
+                .credentials(minioProperties.accessKey(), minioProperties.secretKey())
+                .build();
+    }
+
+    @Test
+    void shouldStoreIdenticalSpooledImagesUnderOneContentAddressedObject() throws Exception {
+        // given
+        SpooledContent content = SpooledContent.ofBytes(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+        Either<Failure, String> firstUpload = minioService.uploadImage(content, "receipt.png", "image/png");
+        assertThat(firstUpload.isRight()).isTrue();
+
+        // the stored object is replaced by a marker, so a second PUT would be visible in its etag
+        byte[] marker = "marker".getBytes(StandardCharsets.UTF_8);
+        testMinioClient.putObject(PutObjectArgs.builder()
+                .bucket(minioProperties.bucketName())
+                .object(firstUpload.get())
+                .stream(new ByteArrayInputStream(marker), marker.length, -1)
+                .build());
+        String markerEtag = etag(firstUpload.get());
+
+        // when
+        Either<Failure, String> secondUpload = minioService.uploadImage(content, "receipt-again.PNG", "image/png");
+
+        // then
+        assertThat(secondUpload.isRight()).isTrue();
+        assertThat(firstUpload.get())
+                .isEqualTo("images/%s.png".formatted(content.sha256()))
+                .isEqualTo(secondUpload.get());
+        assertThat(etag(secondUpload.get())).isEqualTo(markerEtag);
+    }
+
+    private String etag(String objectName) throws Exception {
+        return testMinioClient.statObject(StatObjectArgs.builder()
+                .bucket(minioProperties.bucketName())
+                .object(objectName)
+                .build()).etag();
+    }
+
+    public static class ContentAddressedProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("minio.content-addressed", "true");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.mrngwozdz.integration.openai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.AbstractIntegrationTest;
+import com.mrngwozdz.integration.HttpStub;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.result.ErrorCode;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@TestProfile(OpenAiBatcherTest.BatchingProfile.class)
+class OpenAiBatcherTest extends AbstractIntegrationTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Inject
+    OpenAiBatcher batcher;
+
+    // injected by SidecarResource
+    HttpStub sidecar;
+
+    @Test
+    void shouldSendConcurrentRequestsAsOneBatchAndHandEveryCallerItsOwnResult() throws Exception {
+        // given
+        var texts = List.of("one", "two", "reject me");
+
+        // when
+        var futures = texts.stream()
+                .map(text -> CompletableFuture.supplyAsync(() -> batcher.process(
+                        new OpenAiProcessRequest(text, "token", "gpt-4o", null, null, null))))
+                .toList();
+        var results = futures.stream().map(CompletableFuture::join).toList();
+
+        // then
+        assertThat(sidecar.requests("/process")).isEmpty();
+        var batches = sidecar.requests("/process/batch");
+        assertThat(batches).hasSize(1);
+        assertThat(MAPPER.readTree(batches.getFirst().body()).get("requests")).extracting(node -> node.get("text").asText())
+                .containsExactlyInAnyOrderElementsOf(texts);
+        for (int i = 0; i < texts.size(); i++) {
+            var result = results.get(i);
+            if (texts.get(i).startsWith("reject")) {
+                assertThat(result.getLeft().code()).isEqualTo(ErrorCode.IO_ERROR);
+            } else {
+                assertThat(MAPPER.readTree(result.get()).get("answer").asText()).isEqualTo("echo " + texts.get(i));
+            }
+        }
+    }
+
+    public static class SidecarResource implements QuarkusTestResourceLifecycleManager {
+
+        private HttpStub sidecar;
+
+        @Override
+        public Map<String, String> start() {
+            sidecar = HttpStub.start()
+                    .on("/health", request -> HttpStub.Reply.json("{}"))
+                    .on("/process/batch", SidecarResource::processBatch);
+            return Map.of("openai.url", sidecar.url());
+        }
+
+        @Override
+        public void inject(TestInjector testInjector) {
+            testInjector.injectIntoFields(sidecar, new TestInjector.MatchesType(HttpStub.class));
+        }
+
+        @Override
+        public void stop() {
+            sidecar.close();
+        }
+
+        // answers each request in order, failing the ones whose text asks for it
+        private static HttpStub.Reply processBatch(HttpStub.Request request) {
+            try {
+                var results = MAPPER.createArrayNode();
+                for (JsonNode item : MAPPER.readTree(request.body()).get("requests")) {
+                    String text = item.get("text").asText();
+                    results.add(text.startsWith("reject")
+                            ? MAPPER.createObjectNode().put("error", "rejected")
+                            : MAPPER.createObjectNode().put("answer", "echo " + text));
+                }
+                return HttpStub.Reply.json(MAPPER.createObjectNode().set("results", results).toString());
+            } catch (Exception e) {
+                return HttpStub.Reply.status(400);
+            }
+        }
+    }
+
+    public static class BatchingProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "openai.batching.enabled", "true",
+                    "openai.batching.max-size", "3",
+                    "openai.batching.linger", "PT2S");
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(new TestResourceEntry(SidecarResource.class));
+        }
+    }
+}
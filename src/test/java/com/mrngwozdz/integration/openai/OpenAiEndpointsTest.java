@@ -0,0 +1,146 @@
+package com.mrngwozdz.integration.openai;
+
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAiEndpointsTest {
+
+    private static final long MILLI = Duration.ofMillis(1).toNanos();
+
+    @Test
+    void shouldPreferEndpointWithFewerOutstandingRequests() {
+        // given
+        var busy = endpoint("http://a");
+        var idle = endpoint("http://b");
+        busy.begin();
+        busy.begin();
+
+        // when
+        var chosen = OpenAiEndpoints.choose(List.of(busy, idle), OpenAiProperties.Strategy.LEAST_OUTSTANDING, new Random(1));
+
+        // then
+        assertThat(chosen).isSameAs(idle);
+    }
+
+    @Test
+    void shouldPreferEndpointWithLowerPeakEwmaCost() {
+        // given
+        var slow = endpoint("http://a");
+        var fast = endpoint("http://b");
+        slow.begin();
+        slow.end(500 * MILLI, 0);
+        fast.begin();
+        fast.end(20 * MILLI, 0);
+
+        // when
+        var chosen = OpenAiEndpoints.choose(List.of(slow, fast), OpenAiProperties.Strategy.PEAK_EWMA, new Random(1));
+
+        // then
+        assertThat(chosen).isSameAs(fast);
+    }
+
+    @Test
+    void shouldNotPreferUnmeasuredEndpointOverFastOne() {
+        // given
+        var unmeasured = endpoint("http://a");
+        var fast = endpoint("http://b");
+        fast.begin();
+        fast.end(20 * MILLI, 0);
+
+        // when
+        var chosen = OpenAiEndpoints.choose(List.of(unmeasured, fast), OpenAiProperties.Strategy.PEAK_EWMA, new Random(1));
+
+        // then
+        assertThat(unmeasured.cost()).isEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(chosen).isSameAs(fast);
+    }
+
+    @Test
+    void shouldReplaceInitialLatencyWithFirstSample() {
+        // given
+        var endpoint = endpoint("http://a");
+        endpoint.begin();
+
+        // when
+        endpoint.end(20 * MILLI, 0);
+
+        // then
+        assertThat(endpoint.ewmaNanos()).isEqualTo(20 * MILLI);
+    }
+
+    @Test
+    void shouldEjectEndpointAfterConsecutiveFailuresUntilDurationPasses() {
+        // given
+        var endpoint = endpoint("http://a");
+        var ejection = Duration.ofSeconds(30);
+
+        // when
+        var afterTwo = endpoint.onFailure(3, ejection, 0) || endpoint.onFailure(3, ejection, 0);
+        var afterThree = endpoint.onFailure(3, ejection, 0);
+
+        // then
+        assertThat(afterTwo).isFalse();
+        assertThat(afterThree).isTrue();
+        assertThat(endpoint.isAvailable(ejection.toNanos() - 1)).isFalse();
+        assertThat(endpoint.isAvailable(ejection.toNanos())).isTrue();
+    }
+
+    @Test
+    void shouldBeAvailableBeforeFirstEjectionWhateverTheClockOrigin() {
+        // given
+        var endpoint = endpoint("http://a");
+
+        // then
+        assertThat(endpoint.isAvailable(Long.MIN_VALUE + 1)).isTrue();
+        assertThat(endpoint.isAvailable(-1)).isTrue();
+        assertThat(endpoint.isAvailable(0)).isTrue();
+    }
+
+    @Test
+    void shouldEjectEndpointWhenClockIsNegative() {
+        // given
+        var endpoint = endpoint("http://a");
+        var ejection = Duration.ofSeconds(30);
+        long now = -ejection.toNanos() * 2;
+
+        // when
+        endpoint.onFailure(1, ejection, now);
+
+        // then
+        assertThat(endpoint.isAvailable(now + ejection.toNanos() - 1)).isFalse();
+        assertThat(endpoint.isAvailable(now + ejection.toNanos())).isTrue();
+    }
+
+    @Test
+    void shouldTreatOnlySuccessfulHealthResponsesAsHealthy() {
+        // then
+        assertThat(OpenAiEndpoints.probe(respondingWith(200), Duration.ofSeconds(1))).isTrue();
+        assertThat(OpenAiEndpoints.probe(respondingWith(204), Duration.ofSeconds(1))).isTrue();
+        assertThat(OpenAiEndpoints.probe(respondingWith(302), Duration.ofSeconds(1))).isFalse();
+        assertThat(OpenAiEndpoints.probe(respondingWith(401), Duration.ofSeconds(1))).isFalse();
+        assertThat(OpenAiEndpoints.probe(respondingWith(404), Duration.ofSeconds(1))).isFalse();
+        assertThat(OpenAiEndpoints.probe(respondingWith(503), Duration.ofSeconds(1))).isFalse();
+    }
+
+    private static OpenAiEndpoint respondingWith(int status) {
+        var response = Mockito.mock(Response.class);
+        Mockito.when(response.getStatus()).thenReturn(status);
+        var client = Mockito.mock(OpenAiClient.class);
+        Mockito.when(client.health()).thenReturn(CompletableFuture.completedFuture(response));
+        return new OpenAiEndpoint(URI.create("http://a"), client, Duration.ofSeconds(10), Duration.ofSeconds(1));
+    }
+
+    private static OpenAiEndpoint endpoint(String url) {
+        return new OpenAiEndpoint(URI.create(url), null, Duration.ofSeconds(10), Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,148 @@
+package com.mrngwozdz.integration.openai;
+
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.http.RestResults;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.FailureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.impl.NoStackTraceTimeoutException;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+
+class OpenAiHttpClientTest {
+
+    private static final OpenAiProcessRequest REQUEST = new OpenAiProcessRequest("text", "token", "gpt-4o", null, null, null);
+
+    private final OpenAiClient client = Mockito.mock(OpenAiClient.class);
+    private final OpenAiHttpClient httpClient = httpClient();
+
+    @Test
+    void shouldMapVertxIdleTimeoutToGatewayTimeout() {
+        // given
+        Mockito.when(client.process(any())).thenReturn(Uni.createFrom().failure(
+                new ProcessingException(new NoStackTraceTimeoutException("The timeout period of 100ms has been exceeded"))));
+
+        // when
+        var result = httpClient.process(REQUEST);
+
+        // then
+        assertThat(result.getLeft().code()).isEqualTo(ErrorCode.TIMEOUT);
+        assertThat(RestResults.toResponse(result.getLeft()).getStatus()).isEqualTo(504);
+    }
+
+    @Test
+    void shouldMapTotalTimeoutToGatewayTimeout() {
+        // given
+        Mockito.when(client.process(any())).thenReturn(Uni.createFrom().nothing());
+
+        // when
+        var result = httpClient.process(REQUEST);
+
+        // then
+        assertThat(result.getLeft().code()).isEqualTo(ErrorCode.TIMEOUT);
+        assertThat(RestResults.toResponse(result.getLeft()).getStatus()).isEqualTo(504);
+    }
+
+    @Test
+    void shouldTimeOutWaitingForFreeConnection() throws Exception {
+        // given
+        var started = new CountDownLatch(1);
+        Mockito.when(client.process(any())).thenReturn(Uni.createFrom().<Response>nothing()
+                .onSubscription().invoke(started::countDown));
+        var holder = CompletableFuture.runAsync(() -> httpClient.process(REQUEST));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        var result = httpClient.process(REQUEST);
+
+        // then
+        assertThat(result.getLeft().code()).isEqualTo(ErrorCode.TIMEOUT);
+        assertThat(result.getLeft().message()).contains("waiting for a connection");
+        Mockito.verify(client, Mockito.times(1)).process(any());
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldCountWaitForFreeConnectionAgainstTotalTimeout() throws Exception {
+        // given
+        var httpClient = httpClient(Duration.ofMillis(400), Duration.ofMillis(500));
+        var started = new CountDownLatch(1);
+        Mockito.when(client.process(any())).thenReturn(
+                Uni.createFrom().item(Response.noContent().build()).onItem().delayIt().by(Duration.ofMillis(300))
+                        .onSubscription().invoke(started::countDown),
+                Uni.createFrom().nothing());
+        var holder = CompletableFuture.runAsync(() -> httpClient.process(REQUEST));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        long start = System.nanoTime();
+        var result = httpClient.process(REQUEST);
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // then
+        assertThat(result.getLeft().code()).isEqualTo(ErrorCode.TIMEOUT);
+        assertThat(result.getLeft().message()).doesNotContain("waiting for a connection");
+        assertThat(elapsed).isLessThan(Duration.ofMillis(700));
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldReleaseConnectionSlotWhenStreamCannotBeStarted() {
+        // given
+        Mockito.when(client.processStream(any())).thenThrow(new IllegalStateException("client closed"));
+        Mockito.when(client.process(any())).thenReturn(Uni.createFrom().failure(new ProcessingException(
+                new IOException("Connection reset"))));
+
+        // when
+        var stream = httpClient.processStream(REQUEST).collect().asList();
+
+        // then
+        assertThatThrownBy(() -> stream.await().atMost(Duration.ofSeconds(5))).isInstanceOf(FailureException.class);
+        assertThat(httpClient.process(REQUEST).getLeft().code()).isEqualTo(ErrorCode.IO_ERROR);
+    }
+
+    @Test
+    void shouldNotTreatOtherFailuresAsTimeout() {
+        // given
+        Mockito.when(client.process(any())).thenReturn(Uni.createFrom().failure(new ProcessingException(
+                new IOException("Connection reset"))));
+
+        // when
+        var result = httpClient.process(REQUEST);
+
+        // then
+        assertThat(result.getLeft().code()).isEqualTo(ErrorCode.IO_ERROR);
+    }
+
+    private OpenAiHttpClient httpClient() {
+        return httpClient(Duration.ofMillis(100), Duration.ofMillis(300));
+    }
+
+    private OpenAiHttpClient httpClient(Duration connectTimeout, Duration totalTimeout) {
+        var http = Mockito.mock(OpenAiProperties.Http.class);
+        Mockito.when(http.poolSize()).thenReturn(1);
+        Mockito.when(http.connectTimeout()).thenReturn(connectTimeout);
+        Mockito.when(http.totalTimeout()).thenReturn(totalTimeout);
+        var properties = Mockito.mock(OpenAiProperties.class);
+        Mockito.when(properties.http()).thenReturn(http);
+        var endpoints = Mockito.mock(OpenAiEndpoints.class);
+        Mockito.when(endpoints.size()).thenReturn(1);
+        Mockito.when(endpoints.acquire()).thenReturn(new OpenAiEndpoint(URI.create("http://sidecar"), client, Duration.ofSeconds(10), Duration.ofSeconds(1)));
+        return new OpenAiHttpClient(properties, endpoints, new SimpleMeterRegistry());
+    }
+}
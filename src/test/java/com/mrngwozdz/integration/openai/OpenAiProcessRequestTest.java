@@ -0,0 +1,44 @@
+package com.mrngwozdz.integration.openai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAiProcessRequestTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldSendAlbumImagesAsImageUrls() throws Exception {
+        // given
+        var request = new OpenAiProcessRequest("caption", "token", "gpt-4o", null, null, null,
+                List.of("https://minio/a.jpg", "https://minio/b.jpg"));
+
+        // when
+        var json = objectMapper.readTree(objectMapper.writeValueAsString(request));
+
+        // then
+        assertThat(json.get("image_urls")).hasSize(2);
+        assertThat(json.get("image_urls").get(0).asText()).isEqualTo("https://minio/a.jpg");
+        assertThat(json.get("image_urls").get(1).asText()).isEqualTo("https://minio/b.jpg");
+        assertThat(json.has("imageDigest")).isFalse();
+    }
+
+    @Test
+    void shouldKeepSingleImageRequestUnchanged() throws Exception {
+        // given
+        var request = new OpenAiProcessRequest("caption", "token", "gpt-4o", "https://minio/a.jpg", null, "digest");
+
+        // when
+        var json = objectMapper.readTree(objectMapper.writeValueAsString(request));
+
+        // then
+        assertThat(json.get("image_url").asText()).isEqualTo("https://minio/a.jpg");
+        assertThat(json.has("image_urls")).isFalse();
+        assertThat(json.has("imageDigest")).isFalse();
+    }
+}
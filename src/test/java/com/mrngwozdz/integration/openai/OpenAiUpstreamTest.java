@@ -0,0 +1,142 @@
+package com.mrngwozdz.integration.openai;
+
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+class OpenAiUpstreamTest {
+
+    private static final OpenAiProcessRequest REQUEST = new OpenAiProcessRequest("text", "token", "gpt-4o", null, null, null);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OpenAiHttpClient httpClient = Mockito.mock(OpenAiHttpClient.class);
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    private OpenAiUpstream upstream;
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void shouldCallOnceWhileNoLatencyQuantileIsKnown() {
+        // given
+        upstream = upstream(2);
+        Mockito.when(httpClient.process(any())).thenReturn(Either.right("ok"));
+
+        // when
+        var result = upstream.call(REQUEST);
+
+        // then
+        assertThat(result.get()).isEqualTo("ok");
+        Mockito.verify(httpClient, Mockito.times(1)).process(any());
+        assertThat(registry.counter("openai.hedging.hedges").count()).isZero();
+    }
+
+    @Test
+    void shouldReturnHedgeAndCancelSlowPrimary() throws InterruptedException {
+        // given
+        upstream = upstream(1);
+        var calls = new AtomicInteger();
+        Mockito.when(httpClient.process(any())).thenAnswer(answer(calls, 0, "warm-up", -1, "primary", 0, "hedge"));
+        upstream.call(REQUEST);
+
+        // when
+        var result = upstream.call(REQUEST);
+
+        // then
+        assertThat(result.get()).isEqualTo("hedge");
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.counter("openai.hedging.hedges").count()).isEqualTo(1);
+        assertThat(registry.counter("openai.hedging.wins").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnPrimaryAndCancelHedgeWhenPrimaryFinishesFirst() throws InterruptedException {
+        // given
+        upstream = upstream(1);
+        var calls = new AtomicInteger();
+        Mockito.when(httpClient.process(any())).thenAnswer(answer(calls, 0, "warm-up", 200, "primary", -1, "hedge"));
+        upstream.call(REQUEST);
+
+        // when
+        var result = upstream.call(REQUEST);
+
+        // then
+        assertThat(result.get()).isEqualTo("primary");
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.counter("openai.hedging.hedges").count()).isEqualTo(1);
+        assertThat(registry.counter("openai.hedging.wins").count()).isZero();
+    }
+
+    @Test
+    void shouldFailWhenBothAttemptsFail() {
+        // given
+        upstream = upstream(1);
+        var calls = new AtomicInteger();
+        Mockito.when(httpClient.process(any())).thenAnswer(invocation -> switch (calls.getAndIncrement()) {
+            case 0 -> Either.right("warm-up");
+            case 1 -> {
+                Thread.sleep(200);
+                yield Either.left(Failure.of(ErrorCode.IO_ERROR, "primary failed"));
+            }
+            default -> Either.left(Failure.of(ErrorCode.IO_ERROR, "hedge failed"));
+        });
+        upstream.call(REQUEST);
+
+        // when
+        var result = upstream.call(REQUEST);
+
+        // then
+        assertThat(result.isLeft()).isTrue();
+        assertThat(result.getLeft().code()).isEqualTo(ErrorCode.IO_ERROR);
+        Mockito.verify(httpClient, Mockito.times(3)).process(any());
+        assertThat(registry.counter("openai.hedging.wins").count()).isZero();
+    }
+
+    // a delay of -1 blocks until the attempt is interrupted by its cancellation
+    private Answer<Either<Failure, String>> answer(AtomicInteger calls, long delay0, String value0,
+                                                   long delay1, String value1, long delay2, String value2) {
+        return invocation -> {
+            int call = calls.getAndIncrement();
+            long delay = call == 0 ? delay0 : call == 1 ? delay1 : delay2;
+            String value = call == 0 ? value0 : call == 1 ? value1 : value2;
+            try {
+                Thread.sleep(delay < 0 ? Duration.ofMinutes(1).toMillis() : delay);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                return Either.left(Failure.of(ErrorCode.UNKNOWN, "cancelled"));
+            }
+            return Either.right(value);
+        };
+    }
+
+    private OpenAiUpstream upstream(int minimumSamples) {
+        var hedging = Mockito.mock(OpenAiProperties.Hedging.class);
+        Mockito.when(hedging.enabled()).thenReturn(true);
+        Mockito.when(hedging.quantile()).thenReturn(0.95);
+        Mockito.when(hedging.minimumDelay()).thenReturn(Duration.ofMillis(50));
+        Mockito.when(hedging.sampleSize()).thenReturn(10);
+        Mockito.when(hedging.minimumSamples()).thenReturn(minimumSamples);
+        var properties = Mockito.mock(OpenAiProperties.class);
+        Mockito.when(properties.limiter()).thenReturn(Mockito.mock(OpenAiProperties.Limiter.class));
+        Mockito.when(properties.circuitBreaker()).thenReturn(Mockito.mock(OpenAiProperties.CircuitBreaker.class));
+        Mockito.when(properties.hedging()).thenReturn(hedging);
+        return new OpenAiUpstream(httpClient, properties, registry);
+    }
+}
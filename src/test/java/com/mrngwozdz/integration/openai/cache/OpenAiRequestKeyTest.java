@@ -0,0 +1,38 @@
+package com.mrngwozdz.integration.openai.cache;
+
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAiRequestKeyTest {
+
+    @Test
+    void shouldIgnoreWhitespaceDifferencesInText() {
+        var first = request("  Lunch   receipt\n total? ", null, null);
+        var second = request("Lunch receipt total?", null, null);
+
+        assertThat(OpenAiRequestKey.of(first)).isPresent().isEqualTo(OpenAiRequestKey.of(second));
+    }
+
+    @Test
+    void shouldKeyImagesOnDigestInsteadOfUrl() {
+        var first = request("Receipt", "https://minio/images/a.png?X-Amz-Signature=1", "abc");
+        var second = request("Receipt", "https://minio/images/a.png?X-Amz-Signature=2", "abc");
+        var other = request("Receipt", "https://minio/images/a.png?X-Amz-Signature=1", "def");
+
+        assertThat(OpenAiRequestKey.of(first)).isPresent().isEqualTo(OpenAiRequestKey.of(second));
+        assertThat(OpenAiRequestKey.of(first)).isNotEqualTo(OpenAiRequestKey.of(other));
+    }
+
+    @Test
+    void shouldNotKeyImageWithoutDigest() {
+        var request = request("Receipt", "https://minio/images/a.png", null);
+
+        assertThat(OpenAiRequestKey.of(request)).isEmpty();
+    }
+
+    private static OpenAiProcessRequest request(String text, String imageUrl, String imageDigest) {
+        return new OpenAiProcessRequest(text, "token", "gpt-4o", imageUrl, null, imageDigest);
+    }
+}
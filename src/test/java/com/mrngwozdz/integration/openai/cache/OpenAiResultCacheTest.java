@@ -0,0 +1,125 @@
+package com.mrngwozdz.integration.openai.cache;
+
+import com.mrngwozdz.configuration.properties.OpenAiProperties;
+import com.mrngwozdz.integration.openai.model.OpenAiProcessRequest;
+import com.mrngwozdz.platform.result.Failure;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class OpenAiResultCacheTest {
+
+    private static final OpenAiProcessRequest REQUEST = new OpenAiProcessRequest("text", "token", "gpt-4o", null, null, null);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OpenAiResultCacheRepository repository = Mockito.mock(OpenAiResultCacheRepository.class);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldLoadAndStoreInBothTiersOnMiss() {
+        // given
+        var cache = cache(true);
+        Mockito.when(repository.findValid(anyString(), any())).thenReturn(Optional.empty());
+
+        // when
+        var result = cache.get(REQUEST, this::load);
+
+        // then
+        assertThat(result.get()).isEqualTo("loaded");
+        assertThat(loads).hasValue(1);
+        Mockito.verify(repository).upsert(anyString(), eq("gpt-4o"), eq("loaded"), any(), any());
+        assertThat(registry.counter("openai.cache.misses").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeRepeatedRequestFromMemory() {
+        // given
+        var cache = cache(true);
+        Mockito.when(repository.findValid(anyString(), any())).thenReturn(Optional.empty());
+        cache.get(REQUEST, this::load);
+
+        // when
+        var result = cache.get(REQUEST, this::load);
+
+        // then
+        assertThat(result.get()).isEqualTo("loaded");
+        assertThat(loads).hasValue(1);
+        Mockito.verify(repository, Mockito.times(1)).findValid(anyString(), any());
+        assertThat(registry.get("openai.cache.hits").tag("tier", "memory").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPromoteDatabaseHitToMemory() {
+        // given
+        var cache = cache(true);
+        Mockito.when(repository.findValid(anyString(), any())).thenReturn(Optional.of("persisted"));
+
+        // when
+        var first = cache.get(REQUEST, this::load);
+        var second = cache.get(REQUEST, this::load);
+
+        // then
+        assertThat(first.get()).isEqualTo("persisted");
+        assertThat(second.get()).isEqualTo("persisted");
+        assertThat(loads).hasValue(0);
+        Mockito.verify(repository, Mockito.times(1)).findValid(anyString(), any());
+        assertThat(registry.get("openai.cache.hits").tag("tier", "database").counter().count()).isEqualTo(1);
+        assertThat(registry.get("openai.cache.hits").tag("tier", "memory").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBypassCacheForImageWithoutDigest() {
+        // given
+        var cache = cache(true);
+        var request = new OpenAiProcessRequest("text", "token", "gpt-4o", "https://minio/presigned", null, null);
+
+        // when
+        cache.get(request, this::load);
+        cache.get(request, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldPurgeExpiredEntriesOnlyWhenPersistent() {
+        // given
+        var persistent = cache(true);
+        var memoryOnly = cache(false);
+
+        // when
+        persistent.purgeExpired();
+        memoryOnly.purgeExpired();
+
+        // then
+        Mockito.verify(repository, Mockito.times(1)).deleteExpired(any(Instant.class));
+    }
+
+    private Either<Failure, String> load() {
+        loads.incrementAndGet();
+        return Either.right("loaded");
+    }
+
+    private OpenAiResultCache cache(boolean persistent) {
+        var cache = Mockito.mock(OpenAiProperties.Cache.class);
+        Mockito.when(cache.enabled()).thenReturn(true);
+        Mockito.when(cache.maximumSize()).thenReturn(100L);
+        Mockito.when(cache.ttl()).thenReturn(Duration.ofHours(1));
+        Mockito.when(cache.persistent()).thenReturn(persistent);
+        var properties = Mockito.mock(OpenAiProperties.class);
+        Mockito.when(properties.cache()).thenReturn(cache);
+        return new OpenAiResultCache(properties, repository, registry);
+    }
+}
@@ -0,0 +1,116 @@
+package com.mrngwozdz.integration.telegram;
+
+import com.mrngwozdz.AbstractIntegrationTest;
+import com.mrngwozdz.integration.HttpStub;
+import com.mrngwozdz.service.telegram.TelegramOffsetRepository;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@TestProfile(TelegramPollingTest.PollingProfile.class)
+class TelegramPollingTest extends AbstractIntegrationTest {
+
+    @Inject
+    TelegramOffsetRepository offsetRepository;
+
+    // injected by TelegramApiResource
+    HttpStub telegram;
+
+    @Test
+    void shouldDeleteWebhookThenPollUpdatesAndStoreOffsetAfterAcceptingThem() throws InterruptedException {
+        // when
+        waitFor(() -> !telegram.requests("/sendMessage").isEmpty() && telegram.requests("/getUpdates").size() >= 3);
+
+        // then
+        var paths = telegram.requests().stream().map(HttpStub.Request::path).toList();
+        assertThat(paths.getFirst()).endsWith("/deleteWebhook");
+        var polls = telegram.requests("/getUpdates");
+        assertThat(polls.get(0).body()).isEqualToIgnoringWhitespace("{\"offset\":0,\"limit\":2,\"timeout\":1}");
+        // a full batch means a backlog, so the next poll does not wait
+        assertThat(polls.get(1).body()).isEqualToIgnoringWhitespace("{\"offset\":7,\"limit\":2,\"timeout\":0}");
+        assertThat(polls.get(2).body()).isEqualToIgnoringWhitespace("{\"offset\":7,\"limit\":2,\"timeout\":1}");
+        assertThat(offsetRepository.load("123")).isEqualTo(7L);
+        assertThat(telegram.requests("/sendMessage"))
+                .extracting(HttpStub.Request::body)
+                .allSatisfy(body -> assertThat(body).contains("\"chat_id\":\"42\""));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    public static class TelegramApiResource implements QuarkusTestResourceLifecycleManager {
+
+        private final AtomicInteger polls = new AtomicInteger();
+        private HttpStub telegram;
+
+        @Override
+        public Map<String, String> start() {
+            telegram = HttpStub.start()
+                    .on("/deleteWebhook", request -> HttpStub.Reply.json("{\"ok\":true,\"result\":true}"))
+                    .on("/getUpdates", this::getUpdates)
+                    .on("/sendMessage", request -> HttpStub.Reply.json("{\"ok\":true,\"result\":{}}"));
+            return Map.of("quarkus.rest-client.telegram-api.url", telegram.url());
+        }
+
+        @Override
+        public void inject(TestInjector testInjector) {
+            testInjector.injectIntoFields(telegram, new TestInjector.MatchesType(HttpStub.class));
+        }
+
+        @Override
+        public void stop() {
+            telegram.close();
+        }
+
+        private HttpStub.Reply getUpdates(HttpStub.Request request) {
+            if (polls.getAndIncrement() == 0) {
+                return HttpStub.Reply.json("""
+                        {"ok":true,"result":[
+                          {"update_id":6,"message":{"message_id":2,"chat":{"id":42,"type":"private"},"date":0,"text":"second"}},
+                          {"update_id":5,"message":{"message_id":1,"chat":{"id":42,"type":"private"},"date":0,"text":"first"}}
+                        ]}""");
+            }
+            try {
+                // an idle long poll
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return HttpStub.Reply.json("{\"ok\":true,\"result\":[]}");
+        }
+    }
+
+    public static class PollingProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "telegram.bot.token", "123:secret",
+                    "telegram.ingestion.mode", "polling",
+                    "telegram.ingestion.batch-size", "2",
+                    "telegram.ingestion.poll-timeout", "PT1S");
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(new TestResourceEntry(TelegramApiResource.class));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.mrngwozdz.platform.result.ErrorCode;
 import com.mrngwozdz.platform.result.Failure;
 import com.mrngwozdz.platform.result.Success;
 import com.mrngwozdz.service.telegram.TelegramService;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramWebhookReply;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.vavr.control.Either;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -121,4 +123,26 @@ class TelegramTest {
                 .body("title", equalTo("VALIDATION"))
                 .body("detail", equalTo("Invalid chat ID"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAcceptWebhookWithoutSecretWhenNoneIsConfigured() {
+        // given
+        when(telegramService.processWebhook(any()))
+                .thenReturn(Either.right(Success.of(TelegramWebhookReply.sendMessage("42", "hi"))));
+
+        // when & then
+        given()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                    {
+                        "update_id": 1,
+                        "message": {"message_id": 1, "chat": {"id": 42}, "text": "hello"}
+                    }
+                    """)
+        .when()
+                .post("/telegram/webhook")
+        .then()
+                .statusCode(200)
+                .body("method", equalTo("sendMessage"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.mrngwozdz.integration.telegram;
+
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.telegram.TelegramService;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramWebhookReply;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.vavr.control.Either;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@TestProfile(TelegramWebhookSecretTest.SecretProfile.class)
+class TelegramWebhookSecretTest {
+
+    private static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+    private static final String UPDATE = """
+            {
+                "update_id": 1,
+                "message": {"message_id": 1, "chat": {"id": 42}, "text": "hello"}
+            }
+            """;
+
+    @InjectMock
+    TelegramService telegramService;
+
+    @BeforeEach
+    void setUp() {
+        when(telegramService.processWebhook(any()))
+                .thenReturn(Either.right(Success.of(TelegramWebhookReply.sendMessage("42", "hi"))));
+    }
+
+    @Test
+    void shouldAcceptWebhookWithMatchingSecret() {
+        // when & then
+        given()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(SECRET_HEADER, "s3cret")
+                .body(UPDATE)
+        .when()
+                .post("/telegram/webhook")
+        .then()
+                .statusCode(200)
+                .body("method", equalTo("sendMessage"));
+
+        verify(telegramService).processWebhook(any());
+    }
+
+    @Test
+    void shouldRejectWebhookWithWrongSecret() {
+        // when & then
+        given()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(SECRET_HEADER, "guess")
+                .body(UPDATE)
+        .when()
+                .post("/telegram/webhook")
+        .then()
+                .statusCode(401)
+                .body("title", equalTo("UNAUTHORIZED"));
+
+        verify(telegramService, never()).processWebhook(any());
+    }
+
+    @Test
+    void shouldRejectWebhookWithoutSecret() {
+        // when & then
+        given()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(UPDATE)
+        .when()
+                .post("/telegram/webhook")
+        .then()
+                .statusCode(401)
+                .body("title", equalTo("UNAUTHORIZED"));
+
+        verify(telegramService, never()).processWebhook(any());
+    }
+
+    public static class SecretProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("telegram.webhook.secret-token", "s3cret");
+        }
+    }
+}
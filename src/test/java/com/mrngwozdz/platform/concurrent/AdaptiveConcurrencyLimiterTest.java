@@ -0,0 +1,72 @@
+package com.mrngwozdz.platform.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void shouldRejectWhenLimitIsReachedAndQueueIsFull() {
+        // given
+        var limiter = limiter(2, 0, Duration.ofSeconds(1));
+
+        // when
+        var first = limiter.acquire();
+        var second = limiter.acquire();
+        var third = limiter.acquire();
+
+        // then
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(third).isEmpty();
+        assertThat(limiter.rejectedCount()).isOne();
+    }
+
+    @Test
+    void shouldRejectQueuedCallerWhenWaitExpires() {
+        // given
+        var limiter = limiter(1, 1, Duration.ofMillis(50));
+        limiter.acquire();
+
+        // when
+        var queued = limiter.acquire();
+
+        // then
+        assertThat(queued).isEmpty();
+        assertThat(limiter.queueDepth()).isZero();
+    }
+
+    @Test
+    void shouldBackOffOnDroppedCallsAndGrowOnFastOnes() {
+        // given
+        var limiter = limiter(10, 0, Duration.ZERO);
+
+        // when
+        limiter.acquire().orElseThrow().onDropped();
+
+        // then
+        assertThat(limiter.limit()).isEqualTo(9);
+
+        // when: saturating the limit with fast calls
+        for (int round = 0; round < 50; round++) {
+            var permits = new ArrayList<AdaptiveConcurrencyLimiter.Permit>();
+            for (int i = 0; i < limiter.limit(); i++) {
+                limiter.acquire().ifPresent(permits::add);
+            }
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+        }
+
+        // then
+        assertThat(limiter.limit()).isGreaterThan(9);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int queueSize, Duration maxQueueWait) {
+        return new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimiter.Settings(
+                initialLimit, 1, 100, Duration.ofSeconds(1), 0.9, queueSize, maxQueueWait));
+    }
+}
@@ -0,0 +1,50 @@
+package com.mrngwozdz.platform.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedBufferTest {
+
+    @Test
+    void shouldDropAndCountItemsOfferedWhenFull() {
+        // given
+        var buffer = new BoundedBuffer<Integer>(2);
+
+        // when
+        boolean first = buffer.offer(1);
+        boolean second = buffer.offer(2);
+        boolean third = buffer.offer(3);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(buffer.droppedCount()).isEqualTo(1);
+        assertThat(buffer.drain(10)).containsExactly(1, 2);
+        assertThat(buffer.offer(4)).isTrue();
+    }
+
+    @Test
+    void shouldNeverHoldMoreThanCapacityUnderConcurrentOffers() throws InterruptedException {
+        // given
+        var buffer = new BoundedBuffer<Integer>(1000);
+        var done = new CountDownLatch(8);
+
+        // when
+        IntStream.range(0, 8).forEach(producer -> Thread.ofVirtual().start(() -> {
+            IntStream.range(0, 500).forEach(buffer::offer);
+            done.countDown();
+        }));
+        done.await();
+
+        // then
+        assertThat(buffer.size()).isEqualTo(1000);
+        assertThat(buffer.droppedCount()).isEqualTo(3000);
+        assertThat(buffer.drain(600)).hasSize(600);
+        assertThat(buffer.drain(600)).hasSize(400);
+    }
+}
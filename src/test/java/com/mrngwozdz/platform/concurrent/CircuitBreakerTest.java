@@ -0,0 +1,99 @@
+package com.mrngwozdz.platform.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(5).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(new CircuitBreaker.Settings(
+            10, 4, 0.5, 0.5, Duration.ofSeconds(1), Duration.ofSeconds(30), 2), clock::get);
+
+    @Test
+    void shouldOpenWhenFailureRateIsExceeded() {
+        // given
+        record(true, FAST);
+        record(true, FAST);
+        record(false, FAST);
+
+        // when
+        record(true, FAST);
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.rejectedCount()).isOne();
+    }
+
+    @Test
+    void shouldOpenWhenSlowCallRateIsExceeded() {
+        // when
+        for (int i = 0; i < 4; i++) {
+            record(false, SLOW);
+        }
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulProbes() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            record(true, FAST);
+        }
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // when
+        var firstProbe = breaker.tryAcquire();
+        var secondProbe = breaker.tryAcquire();
+        var thirdCall = breaker.tryAcquire();
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(firstProbe).isTrue();
+        assertThat(secondProbe).isTrue();
+        assertThat(thirdCall).isFalse();
+
+        // when
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            record(true, FAST);
+        }
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        breaker.tryAcquire();
+
+        // when
+        breaker.onFailure(FAST);
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private void record(boolean failed, long latency) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        if (failed) {
+            breaker.onFailure(latency);
+        } else {
+            breaker.onSuccess(latency);
+        }
+    }
+}
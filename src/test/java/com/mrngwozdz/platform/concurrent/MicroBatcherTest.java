@@ -0,0 +1,95 @@
+package com.mrngwozdz.platform.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicroBatcherTest {
+
+    @Test
+    void shouldFanOutResultsOfOneBatchToEveryCaller() throws Exception {
+        // given
+        var calls = new AtomicInteger();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var batcher = new MicroBatcher<Integer, String>(4, Duration.ofSeconds(10), items -> {
+                 calls.incrementAndGet();
+                 return items.stream().map(i -> "result-" + i).toList();
+             }, executor)) {
+
+            // when
+            var futures = IntStream.range(0, 4).mapToObj(batcher::submit).toList();
+
+            // then
+            assertThat(CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS)).isNull();
+            assertThat(futures).extracting(CompletableFuture::join)
+                    .containsExactly("result-0", "result-1", "result-2", "result-3");
+            assertThat(calls).hasValue(1);
+        }
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterLinger() throws Exception {
+        // given
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var batcher = new MicroBatcher<Integer, Integer>(100, Duration.ofMillis(20),
+                     items -> items.stream().map(i -> i * 2).toList(), executor)) {
+
+            // when
+            var result = batcher.submit(21);
+
+            // then
+            assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo(42);
+            assertThat(batcher.batchCount()).isOne();
+        }
+    }
+
+    @Test
+    void shouldNeedFarFewerUpstreamCallsThanRequestsUnderLoad() throws Exception {
+        // given: a stub sidecar that handles one call at a time with a fixed per-call overhead
+        var calls = new AtomicInteger();
+        var sidecar = new ReentrantLock();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var batcher = new MicroBatcher<Integer, Integer>(16, Duration.ofMillis(5), items -> {
+                 sidecar.lock();
+                 try {
+                     calls.incrementAndGet();
+                     sleep(20);
+                     return items;
+                 } finally {
+                     sidecar.unlock();
+                 }
+             }, executor)) {
+
+            // when
+            long start = System.nanoTime();
+            var futures = IntStream.range(0, 256)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> batcher.submit(i).join(), executor))
+                    .toList();
+            List<Integer> results = futures.stream().map(CompletableFuture::join).toList();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // then: one call per request would take 256 x 20 ms, since the sidecar serializes them
+            assertThat(results).hasSize(256);
+            assertThat(calls.get()).isLessThanOrEqualTo(64);
+            assertThat(batcher.averageBatchSize()).isGreaterThan(4);
+            assertThat(elapsedMillis).isLessThan(256 * 20 / 4);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
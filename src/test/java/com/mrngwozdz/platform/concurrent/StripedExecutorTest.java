@@ -0,0 +1,75 @@
+package com.mrngwozdz.platform.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedExecutorTest {
+
+    @Test
+    void shouldRunTasksWithEqualKeyInSubmissionOrder() throws InterruptedException {
+        // given
+        var executed = new CopyOnWriteArrayList<String>();
+        var done = new CountDownLatch(200);
+
+        // when
+        try (var executor = new StripedExecutor("test", 4, 1000)) {
+            for (int i = 0; i < 100; i++) {
+                int sequence = i;
+                for (String chat : List.of("a", "b")) {
+                    executor.execute(chat, () -> {
+                        executed.add(chat + sequence);
+                        done.countDown();
+                    });
+                }
+            }
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // then
+        for (String chat : List.of("a", "b")) {
+            var ordered = executed.stream().filter(entry -> entry.startsWith(chat))
+                    .map(entry -> Integer.parseInt(entry.substring(1)))
+                    .toList();
+            assertThat(ordered).isSorted().hasSize(100);
+        }
+    }
+
+    @Test
+    void shouldRejectTaskWhenStripeQueueIsFull() throws InterruptedException {
+        // given
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+
+        try (var executor = new StripedExecutor("test", 1, 1)) {
+            executor.execute("chat", () -> {
+                started.countDown();
+                await(release);
+            });
+            started.await(1, TimeUnit.SECONDS);
+
+            // when
+            var queued = executor.execute("chat", () -> { });
+            var rejected = executor.execute("chat", () -> { });
+
+            // then
+            assertThat(queued).isTrue();
+            assertThat(rejected).isFalse();
+            assertThat(executor.queueDepth()).isOne();
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
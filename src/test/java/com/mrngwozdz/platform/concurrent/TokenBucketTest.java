@@ -0,0 +1,46 @@
+package com.mrngwozdz.platform.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldAllowBurstThenRefillAtRate() {
+        // given
+        var bucket = new TokenBucket(2, 2, clock::get);
+
+        // when
+        bucket.consume();
+        bucket.consume();
+
+        // then
+        assertThat(bucket.nanosUntilAvailable()).isEqualTo(Duration.ofMillis(500).toNanos());
+
+        // when
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+
+        // then
+        assertThat(bucket.nanosUntilAvailable()).isZero();
+        assertThat(bucket.isFull()).isFalse();
+    }
+
+    @Test
+    void shouldNotExceedCapacity() {
+        // given
+        var bucket = new TokenBucket(10, 1, clock::get);
+
+        // when
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        bucket.consume();
+
+        // then
+        assertThat(bucket.nanosUntilAvailable()).isEqualTo(Duration.ofMillis(100).toNanos());
+    }
+}
@@ -0,0 +1,71 @@
+package com.mrngwozdz.platform.io;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Base64SpooledContentDeserializerTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void shouldDecodeLargeImageIntoSpillFile() throws IOException {
+        // given
+        byte[] image = randomBytes(64 * 1024);
+        String json = "{\"image\": \"%s\", \"text\": \"Receipt\"}".formatted(Base64.getEncoder().encodeToString(image));
+
+        // when
+        var request = objectMapper().readValue(json, Upload.class);
+
+        // then
+        assertThat(request.image.isInMemory()).isFalse();
+        assertThat(request.image.size()).isEqualTo(image.length);
+        assertThat(spillFiles()).isOne();
+        request.image.close();
+        assertThat(spillFiles()).isZero();
+    }
+
+    @Test
+    void shouldDeleteSpillFileWhenLaterFieldFails() throws IOException {
+        // given
+        String json = "{\"image\": \"%s\", \"text\": {\"not\": \"a string\"}}"
+                .formatted(Base64.getEncoder().encodeToString(randomBytes(64 * 1024)));
+
+        // when / then
+        assertThatThrownBy(() -> objectMapper().readValue(json, Upload.class)).isInstanceOf(JsonMappingException.class);
+        assertThat(spillFiles()).isZero();
+    }
+
+    private ObjectMapper objectMapper() {
+        return new ObjectMapper().registerModule(
+                SpooledContentObjectMapperCustomizer.module(4096, spillDirectory.toString()));
+    }
+
+    private long spillFiles() throws IOException {
+        try (var files = Files.list(spillDirectory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    static class Upload {
+        public SpooledContent image;
+        public String text;
+    }
+}
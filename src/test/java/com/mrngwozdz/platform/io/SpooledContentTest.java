@@ -0,0 +1,71 @@
+package com.mrngwozdz.platform.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpooledContentTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void shouldKeepSmallBodyInMemory() throws IOException {
+        // given
+        byte[] body = randomBytes(1024);
+
+        // when
+        try (SpooledContent content = SpooledContent.spool(new ByteArrayInputStream(body), 4096, spillDirectory)) {
+
+            // then
+            assertThat(content.isInMemory()).isTrue();
+            assertThat(content.size()).isEqualTo(body.length);
+            assertThat(readAll(content)).isEqualTo(body);
+            assertThat(spillFiles()).isZero();
+        }
+    }
+
+    @Test
+    void shouldSpillLargeBodyToFileAndDeleteItOnClose() throws IOException {
+        // given
+        byte[] body = randomBytes(64 * 1024);
+
+        // when
+        SpooledContent content = SpooledContent.spool(new ByteArrayInputStream(body), 4096, spillDirectory);
+
+        // then
+        assertThat(content.isInMemory()).isFalse();
+        assertThat(content.size()).isEqualTo(body.length);
+        assertThat(readAll(content)).isEqualTo(body);
+        assertThat(spillFiles()).isOne();
+
+        content.close();
+        assertThat(spillFiles()).isZero();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] readAll(SpooledContent content) throws IOException {
+        try (InputStream in = content.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private long spillFiles() throws IOException {
+        try (var files = Files.list(spillDirectory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mrngwozdz.service.event;
+
+import com.mrngwozdz.configuration.properties.EventProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class AppEventWriterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DataSource dataSource = Mockito.mock(DataSource.class);
+    private final Connection connection = Mockito.mock(Connection.class);
+    private final PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+
+    @Test
+    void shouldWriteBufferedEventsInOneBatch() throws SQLException {
+        // given
+        var writer = writer(10);
+        wireStatement();
+        writer.record(event("a"));
+        writer.record(event("b"));
+
+        // when
+        writer.flush();
+
+        // then
+        Mockito.verify(statement, Mockito.times(2)).addBatch();
+        Mockito.verify(statement).executeBatch();
+        Mockito.verify(connection).commit();
+        assertThat(registry.counter("app.events.written").count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRetryFailedBatchRowByRowAndLoseOnlyTheBadRow() throws SQLException {
+        // given
+        var writer = writer(10);
+        wireStatement();
+        Mockito.when(statement.executeBatch()).thenThrow(new BatchUpdateException("no partition", new int[0]));
+        Mockito.when(statement.executeUpdate())
+                .thenReturn(1)
+                .thenThrow(new SQLException("no partition of relation app_events found for row"))
+                .thenReturn(1);
+        writer.record(event("a"));
+        writer.record(event("b"));
+        writer.record(event("c"));
+
+        // when
+        writer.flush();
+
+        // then
+        Mockito.verify(connection).rollback();
+        Mockito.verify(statement, Mockito.times(3)).executeUpdate();
+        assertThat(registry.counter("app.events.written").count()).isEqualTo(2);
+        assertThat(registry.counter("app.events.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropAndCountEventsWhenBufferIsFull() {
+        // given
+        var writer = writer(1);
+
+        // when
+        boolean first = writer.record(event("a"));
+        boolean second = writer.record(event("b"));
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(registry.find("app.events.dropped").functionCounter().count()).isEqualTo(1);
+    }
+
+    private AppEventWriter writer(int bufferSize) {
+        var properties = Mockito.mock(EventProperties.class);
+        Mockito.when(properties.enabled()).thenReturn(true);
+        Mockito.when(properties.bufferSize()).thenReturn(bufferSize);
+        Mockito.when(properties.batchSize()).thenReturn(100);
+        return new AppEventWriter(dataSource, properties, registry);
+    }
+
+    private void wireStatement() throws SQLException {
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        Mockito.when(connection.prepareStatement(anyString())).thenReturn(statement);
+        Mockito.when(statement.executeBatch()).thenReturn(new int[0]);
+        Mockito.doNothing().when(statement).setObject(anyInt(), any());
+    }
+
+    private static AppEvent event(String method) {
+        return new AppEvent(UUID.randomUUID(), AuditInterceptor.EVENT_TYPE, "API call to " + method,
+                "{\"methodName\":\"" + method + "\"}", Instant.now());
+    }
+}
@@ -0,0 +1,70 @@
+package com.mrngwozdz.service.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramChat;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUser;
+import jakarta.interceptor.InvocationContext;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditInterceptorTest {
+
+    private final AppEventWriter writer = Mockito.mock(AppEventWriter.class);
+    private final AuditInterceptor interceptor = new AuditInterceptor(writer, new ObjectMapper());
+
+    @Test
+    void shouldRecordAllowListedFieldsOnly() throws Exception {
+        // given
+        Mockito.when(writer.enabled()).thenReturn(true);
+        var chat = new TelegramChat(42L, "private", null, "jane", "Jane", "Doe");
+        var message = new TelegramMessage(7L, new TelegramUser(1L, false, "Jane", "Doe", "jane", "en"), chat, 0L, "my secret text", null,
+                null, null, null);
+        var context = context(new TelegramUpdate(100L, message));
+        Mockito.when(context.proceed()).thenReturn(RestResponse.ok());
+
+        // when
+        interceptor.audit(context);
+
+        // then
+        var event = ArgumentCaptor.forClass(AppEvent.class);
+        Mockito.verify(writer).record(event.capture());
+        assertThat(event.getValue().eventType()).isEqualTo(AuditInterceptor.EVENT_TYPE);
+        assertThat(event.getValue().eventData())
+                .contains("\"status\":\"SUCCESS\"", "\"chatId\":42", "\"updateId\":100", "\"textLength\":14")
+                .doesNotContain("secret", "Jane", "Doe", "jane");
+    }
+
+    @Test
+    void shouldRecordFailureWhenEndpointThrows() throws Exception {
+        // given
+        Mockito.when(writer.enabled()).thenReturn(true);
+        var context = context("plain");
+        Mockito.when(context.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        // when
+        try {
+            interceptor.audit(context);
+        } catch (IllegalStateException expected) {
+            // rethrown to the caller
+        }
+
+        // then
+        var event = ArgumentCaptor.forClass(AppEvent.class);
+        Mockito.verify(writer).record(event.capture());
+        assertThat(event.getValue().eventData()).contains("\"status\":\"FAILURE\"", "\"type\":\"String\"")
+                .doesNotContain("plain");
+    }
+
+    private static InvocationContext context(Object argument) throws NoSuchMethodException {
+        var context = Mockito.mock(InvocationContext.class);
+        Mockito.when(context.getMethod()).thenReturn(AuditInterceptorTest.class.getDeclaredMethod("context", Object.class));
+        Mockito.when(context.getParameters()).thenReturn(new Object[]{argument});
+        return context;
+    }
+}
@@ -0,0 +1,32 @@
+package com.mrngwozdz.service.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCursorTest {
+
+    @Test
+    void shouldDecodeEncodedCursor() {
+        // given
+        var cursor = new EventCursor(Instant.parse("2025-03-01T12:00:00.123456Z"), UUID.randomUUID());
+
+        // when
+        var decoded = EventCursor.decode(cursor.encode());
+
+        // then
+        assertThat(decoded).contains(cursor);
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        // when
+        var decoded = EventCursor.decode("not-a-cursor");
+
+        // then
+        assertThat(decoded).isEmpty();
+    }
+}
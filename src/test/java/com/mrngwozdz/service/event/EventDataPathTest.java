@@ -0,0 +1,26 @@
+package com.mrngwozdz.service.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventDataPathTest {
+
+    @Test
+    void shouldRenderIndexExpressionAndJsonPath() {
+        // when
+        var path = EventDataPath.parse("parameters.0.message.chat.id").orElseThrow();
+
+        // then
+        assertThat(path.textExpression()).isEqualTo("(event_data #>> '{parameters,0,message,chat,id}')");
+        assertThat(path.jsonPath()).isEqualTo("$.parameters[0].message.chat.id");
+        assertThat(path.indexName()).isEqualTo("idx_app_events_data_parameters_0_message_chat_id");
+    }
+
+    @Test
+    void shouldRejectSegmentsThatCouldEscapeTheLiteral() {
+        // then
+        assertThat(EventDataPath.parse("status') OR TRUE --")).isEmpty();
+        assertThat(EventDataPath.parse("parameters..id")).isEmpty();
+    }
+}
@@ -0,0 +1,121 @@
+package com.mrngwozdz.service.event;
+
+import com.mrngwozdz.AbstractIntegrationTest;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+class EventSearchExplainTest extends AbstractIntegrationTest {
+
+    private static final EventDataPath CHAT_ID = EventDataPath.parse("parameters.0.chatId").orElseThrow();
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    EventIndexManager indexManager;
+
+    @BeforeEach
+    void insertEvent() throws SQLException {
+        indexManager.ensureIndexes();
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("""
+                     INSERT INTO app_events (event_type, description, event_data)
+                     VALUES ('API_REQUEST', 'API call to TelegramController.receiveWebhook', CAST(? AS jsonb))
+                     """)) {
+            statement.setString(1, """
+                    {"methodName":"receiveWebhook","status":"SUCCESS","parameters":[{"type":"TelegramUpdate","chatId":42}]}
+                    """);
+            statement.executeUpdate();
+        }
+    }
+
+    @Test
+    void shouldAnswerContainmentFromGinIndex() throws SQLException {
+        // given
+        var search = search("{\"status\":\"FAILURE\"}", null, Map.of());
+
+        // when
+        var plan = explain(search);
+
+        // then
+        assertThat(plan).containsAnyOf(partitionIndexes("idx_app_events_event_data"));
+    }
+
+    @Test
+    void shouldAnswerPathExistenceFromGinIndex() throws SQLException {
+        // given
+        var search = search(null, CHAT_ID, Map.of());
+
+        // when
+        var plan = explain(search);
+
+        // then
+        assertThat(plan).containsAnyOf(partitionIndexes("idx_app_events_event_data"));
+    }
+
+    @Test
+    void shouldAnswerEqualityOnConfiguredPathFromExpressionIndex() throws SQLException {
+        // given
+        var search = search(null, null, Map.of(CHAT_ID, "42"));
+
+        // when
+        var plan = explain(search);
+
+        // then
+        assertThat(plan).containsAnyOf(partitionIndexes(CHAT_ID.indexName()));
+    }
+
+    private static EventSearch search(String contains, EventDataPath exists, Map<EventDataPath, String> equals) {
+        return new EventSearch(null, contains, exists, equals, null, null, null, 20);
+    }
+
+    private String[] partitionIndexes(String parentIndex) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var query = connection.prepareStatement(
+                     "SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = CAST(? AS regclass)")) {
+            query.setString(1, parentIndex);
+            List<String> indexes = new ArrayList<>();
+            try (var result = query.executeQuery()) {
+                while (result.next()) {
+                    indexes.add(result.getString(1));
+                }
+            }
+            assertThat(indexes).isNotEmpty();
+            return indexes.toArray(String[]::new);
+        }
+    }
+
+    // the table is tiny, so other scans are disabled: a bitmap scan on the index then proves the predicate matches it
+    private String explain(EventSearch search) throws SQLException {
+        var statement = AppEventRepository.searchStatement(search);
+        var explain = new AppEventRepository.SqlStatement("EXPLAIN " + statement.sql(), statement.parameters());
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (var settings = connection.createStatement()) {
+                settings.execute("SET LOCAL enable_seqscan = off");
+                settings.execute("SET LOCAL enable_indexscan = off");
+            }
+            try (var query = explain.prepare(connection); var result = query.executeQuery()) {
+                List<String> lines = new ArrayList<>();
+                while (result.next()) {
+                    lines.add(result.getString(1));
+                }
+                return String.join("\n", lines);
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.mrngwozdz.service.event.partition;
+
+import com.mrngwozdz.configuration.properties.EventProperties;
+import com.mrngwozdz.service.minio.MinioService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+class AppEventPartitionManagerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AppEventPartitionRepository repository = Mockito.mock(AppEventPartitionRepository.class);
+    private final AppEventPartitionManager manager = manager();
+
+    @Test
+    void shouldReportRowsInDefaultPartition() throws SQLException {
+        // given
+        Mockito.when(repository.countDefault()).thenReturn(7L);
+
+        // when
+        manager.checkDefault();
+
+        // then
+        assertThat(registry.get("app.events.partitions.default.rows").gauge().value()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldStopCreatingWhenDefaultPartitionHoldsRowsOfTheRange() throws Exception {
+        // given
+        var now = LocalDateTime.of(2026, 10, 17, 12, 0);
+        var today = new AppEventPartition("app_events_p20261017", now.toLocalDate().atStartOfDay(),
+                now.toLocalDate().plusDays(1).atStartOfDay());
+        Mockito.doThrow(new SQLException("updated partition constraint for default partition would be violated", "23514"))
+                .when(repository).create(any());
+
+        // when
+        manager.createAhead(List.of(today), now);
+
+        // then
+        Mockito.verify(repository, Mockito.times(1)).create(any());
+        assertThat(registry.counter("app.events.partitions.created").count()).isZero();
+    }
+
+    private AppEventPartitionManager manager() {
+        var partitions = Mockito.mock(EventProperties.Partitions.class);
+        Mockito.when(partitions.interval()).thenReturn(EventProperties.PartitionInterval.DAY);
+        Mockito.when(partitions.ahead()).thenReturn(3);
+        var properties = Mockito.mock(EventProperties.class);
+        Mockito.when(properties.partitions()).thenReturn(partitions);
+        return new AppEventPartitionManager(repository, Mockito.mock(MinioService.class), properties, registry);
+    }
+}
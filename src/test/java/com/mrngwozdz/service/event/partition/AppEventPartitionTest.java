@@ -0,0 +1,42 @@
+package com.mrngwozdz.service.event.partition;
+
+import com.mrngwozdz.configuration.properties.EventProperties.PartitionInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppEventPartitionTest {
+
+    @Test
+    void shouldParseBoundsPrintedByPostgres() {
+        // when
+        var history = AppEventPartition.parse("app_events_history",
+                "FOR VALUES FROM (MINVALUE) TO ('2025-10-18 00:00:00')");
+        var daily = AppEventPartition.parse("app_events_p20251018",
+                "FOR VALUES FROM ('2025-10-18 00:00:00') TO ('2025-10-19 00:00:00')");
+
+        // then
+        assertThat(history).contains(new AppEventPartition("app_events_history", null,
+                LocalDateTime.parse("2025-10-18T00:00:00")));
+        assertThat(daily).contains(new AppEventPartition("app_events_p20251018",
+                LocalDateTime.parse("2025-10-18T00:00:00"), LocalDateTime.parse("2025-10-19T00:00:00")));
+        assertThat(AppEventPartition.parse("app_events_default", "DEFAULT")).isEmpty();
+    }
+
+    @Test
+    void shouldEndNextPartitionAtThePeriodBoundary() {
+        // given
+        var start = LocalDateTime.parse("2025-10-18T00:00:00");
+
+        // when
+        var daily = AppEventPartition.next(start, PartitionInterval.DAY);
+        var monthly = AppEventPartition.next(start, PartitionInterval.MONTH);
+
+        // then
+        assertThat(daily.to()).isEqualTo(LocalDateTime.parse("2025-10-19T00:00:00"));
+        assertThat(monthly.name()).isEqualTo("app_events_p20251018");
+        assertThat(monthly.to()).isEqualTo(LocalDateTime.parse("2025-11-01T00:00:00"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramChat;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaGroupAggregatorTest {
+
+    @Test
+    void shouldHandOverAlbumOnceInMessageOrder() throws InterruptedException {
+        // given
+        var aggregator = new MediaGroupAggregator(new MediaGroups(Duration.ofMillis(100), 10), MediaGroupAggregatorTest::runInline, new SimpleMeterRegistry());
+        var completed = new CopyOnWriteArrayList<List<TelegramMessage>>();
+        var done = new CountDownLatch(1);
+
+        // when
+        for (long id : new long[]{3, 1, 2}) {
+            aggregator.add(photo(id, "album"), messages -> {
+                completed.add(messages);
+                done.countDown();
+            });
+        }
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+        assertThat(completed).hasSize(1);
+        assertThat(completed.getFirst()).extracting(TelegramMessage::messageId).containsExactly(1L, 2L, 3L);
+        aggregator.close();
+    }
+
+    @Test
+    void shouldHandOverFullAlbumWithoutWaiting() throws InterruptedException {
+        // given
+        var aggregator = new MediaGroupAggregator(new MediaGroups(Duration.ofSeconds(30), 2), MediaGroupAggregatorTest::runInline, new SimpleMeterRegistry());
+        var done = new CountDownLatch(1);
+
+        // when
+        aggregator.add(photo(1, "full"), messages -> done.countDown());
+        aggregator.add(photo(2, "full"), messages -> done.countDown());
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        aggregator.close();
+    }
+
+    @Test
+    void shouldHandOverAlbumOnTheQueueOfItsChat() throws InterruptedException {
+        // given
+        var queued = new CopyOnWriteArrayList<Object>();
+        var aggregator = new MediaGroupAggregator(new MediaGroups(Duration.ofSeconds(30), 2), (chatId, description, task) -> {
+            queued.add(chatId);
+            task.run();
+            return true;
+        }, new SimpleMeterRegistry());
+        var done = new CountDownLatch(1);
+
+        // when
+        aggregator.add(photo(1, "chat", 42L), messages -> done.countDown());
+        aggregator.add(photo(2, "chat", 42L), messages -> done.countDown());
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued).containsExactly(42L);
+        aggregator.close();
+    }
+
+    private static boolean runInline(Object chatId, String description, Runnable task) {
+        task.run();
+        return true;
+    }
+
+    private static TelegramMessage photo(long messageId, String mediaGroupId) {
+        return photo(messageId, mediaGroupId, null);
+    }
+
+    private static TelegramMessage photo(long messageId, String mediaGroupId, Long chatId) {
+        var chat = chatId == null ? null : new TelegramChat(chatId, "private", null, null, null, null);
+        return new TelegramMessage(messageId, null, chat, null, null, null, mediaGroupId, List.of(), null);
+    }
+
+    private record MediaGroups(Duration quietPeriod, int maxSize) implements TelegramProperties.MediaGroups {
+
+        @Override
+        public Duration maxWait() {
+            return Duration.ofMinutes(1);
+        }
+    }
+}
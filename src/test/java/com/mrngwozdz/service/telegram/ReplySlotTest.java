@@ -0,0 +1,39 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.service.telegram.data.api.model.TelegramWebhookReply;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplySlotTest {
+
+    @Test
+    void shouldReturnReplyOfferedWithinBudget() {
+        // given
+        var slot = new ReplySlot();
+        var reply = TelegramWebhookReply.sendMessage("42", "hello");
+        Thread.ofVirtual().start(() -> slot.offer(reply));
+
+        // when
+        var inline = slot.await(Duration.ofSeconds(5));
+
+        // then
+        assertThat(inline).contains(reply);
+    }
+
+    @Test
+    void shouldRefuseReplyOfferedAfterBudget() {
+        // given
+        var slot = new ReplySlot();
+
+        // when
+        var inline = slot.await(Duration.ofMillis(10));
+        boolean accepted = slot.offer(TelegramWebhookReply.sendMessage("42", "late"));
+
+        // then
+        assertThat(inline).isEmpty();
+        assertThat(accepted).isFalse();
+    }
+}
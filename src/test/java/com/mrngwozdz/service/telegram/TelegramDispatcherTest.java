@@ -0,0 +1,122 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.service.telegram.data.api.model.request.TelegramMessageRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelegramDispatcherTest {
+
+    private static final TelegramDispatcher.Settings SETTINGS =
+            new TelegramDispatcher.Settings(1000, 1000, 1000, 4096, 512, 3);
+
+    @Test
+    void shouldSendAgainAfterRateLimitResponse() throws Exception {
+        // given
+        var calls = new AtomicInteger();
+        var dispatcher = new TelegramDispatcher(SETTINGS, request -> calls.incrementAndGet() == 1
+                ? Response.status(429).entity("{\"ok\":false,\"parameters\":{\"retry_after\":1}}").build()
+                : Response.ok().build(),
+                new SimpleMeterRegistry(), System::nanoTime);
+        dispatcher.start();
+
+        // when
+        var result = dispatcher.send("42", "hello", MessagePriority.NORMAL).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(result.isRight()).isTrue();
+        assertThat(calls).hasValue(2);
+        dispatcher.close();
+    }
+
+    @Test
+    void shouldMergeQueuedMessagesToTheSameChat() throws Exception {
+        // given
+        var sent = new CopyOnWriteArrayList<TelegramMessageRequest>();
+        var dispatcher = new TelegramDispatcher(SETTINGS, request -> {
+            sent.add(request);
+            return Response.ok().build();
+        }, new SimpleMeterRegistry(), System::nanoTime);
+        var first = dispatcher.send("42", "one", MessagePriority.NORMAL);
+        var second = dispatcher.send("42", "two", MessagePriority.NORMAL);
+        var third = dispatcher.send("42", "three", MessagePriority.NORMAL);
+
+        // when
+        dispatcher.start();
+        third.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(first.get().isRight()).isTrue();
+        assertThat(second.get().isRight()).isTrue();
+        assertThat(sent).hasSize(1);
+        assertThat(sent.getFirst().getText()).isEqualTo("one\ntwo\nthree");
+        dispatcher.close();
+    }
+
+    @Test
+    void shouldNeverExceedConfiguredRates() throws Exception {
+        // given
+        var settings = new TelegramDispatcher.Settings(20, 10, 1000, 4096, 512, 3);
+        var registry = new SimpleMeterRegistry();
+        LongSupplier clock = System::nanoTime;
+        var telegram = new RateLimitedTelegram(clock, settings);
+        var dispatcher = new TelegramDispatcher(settings, telegram::send, registry, clock);
+        dispatcher.start();
+        var text = "x".repeat(settings.shortMessageLength() + 1);
+
+        // when
+        var results = new ArrayList<CompletableFuture<?>>();
+        for (int i = 0; i < 5; i++) {
+            for (var chatId : new String[] {"1", "2", "3", "4"}) {
+                results.add(dispatcher.send(chatId, text, MessagePriority.NORMAL));
+            }
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(telegram.tooManyRequests).hasValue(0);
+        assertThat(registry.counter("telegram.outbound.rate-limited").count()).isZero();
+        assertThat(registry.counter("telegram.outbound.sent").count()).isEqualTo(20);
+        dispatcher.close();
+    }
+
+    // answers 429 when requests come closer together than the configured rates allow, with half an interval of slack for scheduling jitter
+    private static final class RateLimitedTelegram {
+        private final LongSupplier clock;
+        private final long globalInterval;
+        private final long chatInterval;
+        private final Map<String, Long> lastByChat = new HashMap<>();
+        private final AtomicInteger tooManyRequests = new AtomicInteger();
+        private long lastGlobal = Long.MIN_VALUE;
+
+        private RateLimitedTelegram(LongSupplier clock, TelegramDispatcher.Settings settings) {
+            this.clock = clock;
+            this.globalInterval = (long) (TimeUnit.SECONDS.toNanos(1) / settings.globalRatePerSecond());
+            this.chatInterval = (long) (TimeUnit.SECONDS.toNanos(1) / settings.chatRatePerSecond());
+        }
+
+        private synchronized Response send(TelegramMessageRequest request) {
+            long now = clock.getAsLong();
+            Long lastChat = lastByChat.put(request.getChatId(), now);
+            boolean globalExceeded = lastGlobal != Long.MIN_VALUE && now - lastGlobal < globalInterval / 2;
+            boolean chatExceeded = lastChat != null && now - lastChat < chatInterval / 2;
+            lastGlobal = now;
+            if (globalExceeded || chatExceeded) {
+                tooManyRequests.incrementAndGet();
+                return Response.status(429).entity("{\"ok\":false,\"parameters\":{\"retry_after\":1}}").build();
+            }
+            return Response.ok().build();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.platform.result.Failure;
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.telegram.data.api.TelegramClient;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdatesResponse;
+import com.mrngwozdz.service.telegram.data.api.model.request.GetUpdatesRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TelegramPollerTest {
+
+    private static final String TOKEN = "123:secret";
+
+    private final ConcurrentLinkedQueue<TelegramUpdatesResponse> responses = new ConcurrentLinkedQueue<>();
+    private final List<GetUpdatesRequest> requests = new CopyOnWriteArrayList<>();
+
+    @Test
+    void shouldAcceptUpdatesAndStoreNextOffset() {
+        // given
+        var offsets = mock(TelegramOffsetRepository.class);
+        when(offsets.load("123")).thenReturn(10L);
+        var accepted = new CopyOnWriteArrayList<Long>();
+        var poller = poller(offsets, update -> {
+            accepted.add(update.updateId());
+            return Either.right(Success.of("queued"));
+        }, 2);
+        responses.add(updates(11, 10));
+
+        // when
+        var pause = poller.pollOnce();
+
+        // then
+        assertThat(pause).isZero();
+        assertThat(accepted).containsExactly(10L, 11L);
+        assertThat(requests.getFirst()).isEqualTo(new GetUpdatesRequest(10, 2, 25));
+        verify(offsets).save("123", 12L);
+    }
+
+    @Test
+    void shouldSkipLongPollWhileDrainingBacklog() {
+        // given
+        var offsets = mock(TelegramOffsetRepository.class);
+        var poller = poller(offsets, update -> Either.right(Success.of("queued")), 2);
+        responses.add(updates(1, 2));
+        responses.add(updates(3));
+        responses.add(updates());
+
+        // when
+        poller.pollOnce();
+        poller.pollOnce();
+        poller.pollOnce();
+
+        // then
+        assertThat(requests.get(0).timeout()).isEqualTo(25);
+        assertThat(requests.get(1).timeout()).isEqualTo(0);
+        assertThat(requests.get(2).timeout()).isEqualTo(25);
+    }
+
+    @Test
+    void shouldKeepOffsetOfUpdateRejectedByFullQueue() {
+        // given
+        var offsets = mock(TelegramOffsetRepository.class);
+        var poller = poller(offsets, update -> update.updateId() < 2
+                ? Either.right(Success.of("queued"))
+                : Either.left(Failure.of(ErrorCode.UNAVAILABLE, "Update queue is full")), 100);
+        responses.add(updates(1, 2, 3));
+
+        // when
+        var pause = poller.pollOnce();
+
+        // then
+        assertThat(pause).isEqualTo(Duration.ofSeconds(1));
+        verify(offsets).save("123", 2L);
+    }
+
+    private TelegramClient stubClient() {
+        // stands in for the Bot API: answers getUpdates with the queued responses in order
+        var client = mock(TelegramClient.class);
+        when(client.getUpdates(any(), any())).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(1));
+            return responses.remove();
+        });
+        return client;
+    }
+
+    private TelegramPoller poller(TelegramOffsetRepository offsets,
+                                  Function<TelegramUpdate, Either<Failure, Success<String>>> sink,
+                                  int batchSize) {
+        return new TelegramPoller(stubClient(), TOKEN, offsets, sink, new Ingestion(batchSize), new SimpleMeterRegistry());
+    }
+
+    private static TelegramUpdatesResponse updates(long... ids) {
+        var updates = Arrays.stream(ids).mapToObj(id -> new TelegramUpdate(id, null)).toList();
+        return new TelegramUpdatesResponse(true, updates, null);
+    }
+
+    private record Ingestion(int batchSize) implements TelegramProperties.Ingestion {
+
+        @Override
+        public TelegramProperties.IngestionMode mode() {
+            return TelegramProperties.IngestionMode.POLLING;
+        }
+
+        @Override
+        public Duration pollTimeout() {
+            return Duration.ofSeconds(25);
+        }
+
+        @Override
+        public Duration errorBackoff() {
+            return Duration.ofSeconds(1);
+        }
+
+        @Override
+        public Duration maxErrorBackoff() {
+            return Duration.ofMinutes(1);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.result.Success;
+import com.mrngwozdz.service.publicmessage.PublicMessageService;
+import com.mrngwozdz.service.telegram.data.api.TelegramClient;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramChat;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramWebhookReply;
+import com.mrngwozdz.service.telegram.outbox.TelegramOutbox;
+import com.mrngwozdz.service.telegram.shard.TelegramShardCoordinator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class TelegramServiceTest {
+
+    private static final Duration REPLY_BUDGET = Duration.ofSeconds(2);
+
+    private final TelegramProperties properties = properties();
+    private final TelegramUpdateQueue queue = new TelegramUpdateQueue(properties, new SimpleMeterRegistry());
+    private final TelegramDispatcher dispatcher = Mockito.mock(TelegramDispatcher.class);
+    private final TelegramOutbox outbox = Mockito.mock(TelegramOutbox.class);
+    private final TelegramService service = Mockito.spy(new TelegramService(Mockito.mock(TelegramClient.class), queue,
+            dispatcher, Mockito.mock(TelegramPhotoService.class), Mockito.mock(MediaGroupAggregator.class), outbox,
+            Mockito.mock(TelegramShardCoordinator.class), Mockito.mock(PublicMessageService.class),
+            properties, "token", "https://bot", "bot"));
+
+    @AfterEach
+    void tearDown() {
+        queue.close();
+    }
+
+    @Test
+    void shouldReturnReplyInlineWhenItIsReadyWithinBudget() {
+        // when
+        var response = service.processWebhook(update(1));
+
+        // then
+        assertThat(response.get().value()).isEqualTo(TelegramWebhookReply.sendMessage("42", "Telegram test"));
+        Mockito.verifyNoInteractions(outbox, dispatcher);
+    }
+
+    @Test
+    void shouldSendLateReplyThroughOutbox() {
+        // given
+        Mockito.when(outbox.enabled()).thenReturn(true);
+        Mockito.when(outbox.submit(anyString(), anyString(), any())).thenReturn(Either.right(Success.of(1L)));
+        delayHandlerBeyondBudget();
+
+        // when
+        var response = service.processWebhook(update(1));
+
+        // then
+        assertThat(response.get().value()).isNull();
+        Mockito.verify(outbox, Mockito.timeout(5000)).submit("42", "Telegram test", MessagePriority.HIGH);
+        Mockito.verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void shouldSendLateReplyThroughDispatcherWhenOutboxIsDisabled() {
+        // given
+        Mockito.when(dispatcher.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Either.right(Success.of("sent"))));
+        delayHandlerBeyondBudget();
+
+        // when
+        var response = service.processWebhook(update(1));
+
+        // then
+        assertThat(response.get().value()).isNull();
+        Mockito.verify(dispatcher, Mockito.timeout(5000)).send(eq("42"), eq("Telegram test"), eq(MessagePriority.HIGH));
+        Mockito.verify(outbox, Mockito.never()).submit(anyString(), anyString(), any());
+    }
+
+    @Test
+    void shouldAnswerRedeliveredUpdateWithoutWaitingForReplyBudget() throws InterruptedException {
+        // given
+        var handled = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            handled.countDown();
+            return null;
+        }).when(service).handleUpdate(any(), any());
+        service.processUpdate(update(1));
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        long start = System.nanoTime();
+        var response = service.processWebhook(update(1));
+
+        // then
+        assertThat(response.get().value()).isNull();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(REPLY_BUDGET.dividedBy(2));
+    }
+
+    private void delayHandlerBeyondBudget() {
+        Mockito.doAnswer(invocation -> {
+            Thread.sleep(REPLY_BUDGET.toMillis() + 500);
+            return invocation.callRealMethod();
+        }).when(service).handleUpdate(any(), any());
+    }
+
+    private static TelegramUpdate update(long updateId) {
+        var chat = new TelegramChat(42L, "private", null, null, null, null);
+        return new TelegramUpdate(updateId, new TelegramMessage(updateId, null, chat, null, "hello", null, null, List.of(), null));
+    }
+
+    private static TelegramProperties properties() {
+        var updates = Mockito.mock(TelegramProperties.Updates.class);
+        Mockito.when(updates.workers()).thenReturn(1);
+        Mockito.when(updates.queueSize()).thenReturn(10);
+        Mockito.when(updates.dedupeTtl()).thenReturn(Duration.ofMinutes(1));
+        Mockito.when(updates.dedupeMaximumSize()).thenReturn(100L);
+        var outbound = Mockito.mock(TelegramProperties.Outbound.class);
+        Mockito.when(outbound.sendTimeout()).thenReturn(Duration.ofSeconds(1));
+        var webhook = Mockito.mock(TelegramProperties.Webhook.class);
+        Mockito.when(webhook.inlineReplies()).thenReturn(true);
+        Mockito.when(webhook.replyBudget()).thenReturn(REPLY_BUDGET);
+        var properties = Mockito.mock(TelegramProperties.class);
+        Mockito.when(properties.updates()).thenReturn(updates);
+        Mockito.when(properties.outbound()).thenReturn(outbound);
+        Mockito.when(properties.webhook()).thenReturn(webhook);
+        return properties;
+    }
+}
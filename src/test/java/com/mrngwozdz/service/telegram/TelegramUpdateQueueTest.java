@@ -0,0 +1,139 @@
+package com.mrngwozdz.service.telegram;
+
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.platform.http.RestResults;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.service.publicmessage.PublicMessageService;
+import com.mrngwozdz.service.telegram.data.api.TelegramClient;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramChat;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import com.mrngwozdz.service.telegram.outbox.TelegramOutbox;
+import com.mrngwozdz.service.telegram.shard.TelegramShardCoordinator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+class TelegramUpdateQueueTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final TelegramProperties properties = properties();
+    private final TelegramUpdateQueue queue = new TelegramUpdateQueue(properties, registry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        queue.close();
+    }
+
+    @Test
+    void shouldAckRedeliveredUpdateWithoutProcessingItAgain() throws InterruptedException {
+        // given
+        var processed = new CopyOnWriteArrayList<Long>();
+        var done = new CountDownLatch(1);
+        queue.enqueue(update(1), update -> {
+            processed.add(update.updateId());
+            done.countDown();
+        });
+
+        // when
+        var redelivered = queue.enqueue(update(1), update -> processed.add(update.updateId()));
+
+        // then
+        assertThat(redelivered.isRight()).isTrue();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(processed).containsExactly(1L);
+        assertThat(registry.counter("telegram.updates.duplicates").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectWithServiceUnavailableAndForgetUpdateWhenStripeIsFull() throws InterruptedException {
+        // given
+        var running = new CountDownLatch(1);
+        queue.enqueue(update(1), update -> {
+            running.countDown();
+            awaitRelease();
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        var drained = new CountDownLatch(1);
+        queue.enqueue(update(2), update -> drained.countDown());
+
+        // when
+        var rejected = queue.enqueue(update(3), update -> { });
+
+        // then
+        assertThat(rejected.getLeft().code()).isEqualTo(ErrorCode.UNAVAILABLE);
+        assertThat(RestResults.toResponse(rejected.getLeft()).getStatus()).isEqualTo(503);
+        release.countDown();
+        assertThat(drained.await(5, TimeUnit.SECONDS)).isTrue();
+        var processed = new CountDownLatch(1);
+        var retried = queue.enqueue(update(3), update -> processed.countDown());
+        assertThat(retried.isRight()).isTrue();
+        assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldAnswerWebhookBeforeTheUpdateIsHandled() throws InterruptedException {
+        // given
+        var service = Mockito.spy(new TelegramService(Mockito.mock(TelegramClient.class), queue,
+                Mockito.mock(TelegramDispatcher.class), Mockito.mock(TelegramPhotoService.class),
+                Mockito.mock(MediaGroupAggregator.class), Mockito.mock(TelegramOutbox.class),
+                Mockito.mock(TelegramShardCoordinator.class), Mockito.mock(PublicMessageService.class),
+                properties, "token", "https://bot", "bot"));
+        var handled = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            awaitRelease();
+            handled.countDown();
+            return null;
+        }).when(service).handleUpdate(any(), any());
+
+        // when
+        var response = service.processWebhook(update(1));
+
+        // then
+        assertThat(response.isRight()).isTrue();
+        assertThat(handled.getCount()).isOne();
+        release.countDown();
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TelegramUpdate update(long updateId) {
+        var chat = new TelegramChat(42L, "private", null, null, null, null);
+        return new TelegramUpdate(updateId, new TelegramMessage(updateId, null, chat, null, "hello", null, null, List.of(), null));
+    }
+
+    private static TelegramProperties properties() {
+        var updates = Mockito.mock(TelegramProperties.Updates.class);
+        Mockito.when(updates.workers()).thenReturn(1);
+        Mockito.when(updates.queueSize()).thenReturn(1);
+        Mockito.when(updates.dedupeTtl()).thenReturn(Duration.ofMinutes(1));
+        Mockito.when(updates.dedupeMaximumSize()).thenReturn(100L);
+        var outbound = Mockito.mock(TelegramProperties.Outbound.class);
+        Mockito.when(outbound.sendTimeout()).thenReturn(Duration.ofSeconds(1));
+        var properties = Mockito.mock(TelegramProperties.class);
+        Mockito.when(properties.updates()).thenReturn(updates);
+        Mockito.when(properties.outbound()).thenReturn(outbound);
+        Mockito.when(properties.webhook()).thenReturn(Mockito.mock(TelegramProperties.Webhook.class));
+        return properties;
+    }
+}
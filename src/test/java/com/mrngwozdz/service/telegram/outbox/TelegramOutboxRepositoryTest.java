@@ -0,0 +1,94 @@
+package com.mrngwozdz.service.telegram.outbox;
+
+import com.mrngwozdz.AbstractIntegrationTest;
+import com.mrngwozdz.service.telegram.MessagePriority;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+class TelegramOutboxRepositoryTest extends AbstractIntegrationTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Inject
+    TelegramOutboxRepository repository;
+
+    @Test
+    void shouldClaimOnlyTheHeadOfEachChat() {
+        // given
+        String chat = "chat-" + UUID.randomUUID();
+        var first = repository.enqueue(chat, "first", MessagePriority.NORMAL);
+        var second = repository.enqueue(chat, "second", MessagePriority.NORMAL);
+
+        // when
+        var claimed = claimedIds(chat);
+        var whileSending = claimedIds(chat);
+        repository.markSent(first.getId(), 1);
+        var afterSent = claimedIds(chat);
+
+        // then
+        assertThat(claimed).containsExactly(first.getId());
+        assertThat(whileSending).isEmpty();
+        assertThat(afterSent).containsExactly(second.getId());
+    }
+
+    @Test
+    void shouldNotHandTheSameMessageToConcurrentClaims() throws Exception {
+        // given
+        var chats = IntStream.range(0, 40).mapToObj(i -> "chat-" + UUID.randomUUID()).toList();
+        chats.forEach(chat -> repository.enqueue(chat, "hello", MessagePriority.NORMAL));
+
+        // when
+        List<Long> claimed;
+        try (var nodes = Executors.newFixedThreadPool(4)) {
+            Callable<List<Long>> node = () -> repository.claim(100, LEASE, 5).stream()
+                    .filter(message -> chats.contains(message.getChatId()))
+                    .map(TelegramOutboxEntity::getId)
+                    .toList();
+            claimed = nodes.invokeAll(List.of(node, node, node, node)).stream()
+                    .flatMap(future -> {
+                        try {
+                            return future.get().stream();
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    })
+                    .toList();
+        }
+
+        // then
+        assertThat(claimed).hasSize(chats.size()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldMakeRetriedMessageAvailableAgainAfterBackoff() {
+        // given
+        String chat = "chat-" + UUID.randomUUID();
+        var message = repository.enqueue(chat, "retry me", MessagePriority.HIGH);
+        claimedIds(chat);
+
+        // when
+        repository.retry(message.getId(), 1, "Telegram unavailable", Instant.now().minusSeconds(1));
+
+        // then
+        assertThat(claimedIds(chat)).containsExactly(message.getId());
+    }
+
+    private List<Long> claimedIds(String chat) {
+        return repository.claim(100, LEASE, 5).stream()
+                .filter(message -> message.getChatId().equals(chat))
+                .map(TelegramOutboxEntity::getId)
+                .toList();
+    }
+}
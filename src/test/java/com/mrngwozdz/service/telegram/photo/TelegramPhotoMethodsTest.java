@@ -0,0 +1,120 @@
+package com.mrngwozdz.service.telegram.photo;
+
+import com.mrngwozdz.integration.HttpStub;
+import com.mrngwozdz.platform.io.SpooledContent;
+import com.mrngwozdz.platform.result.ErrorCode;
+import com.mrngwozdz.service.minio.MinioService;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramPhotoSize;
+import io.vavr.control.Either;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class TelegramPhotoMethodsTest {
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+
+    private static final List<TelegramPhotoSize> SIZES = List.of(
+            new TelegramPhotoSize("s", "s", 90, 67, 1_200L),
+            new TelegramPhotoSize("m", "m", 320, 240, 15_000L),
+            new TelegramPhotoSize("x", "x", 1280, 960, 180_000L),
+            new TelegramPhotoSize("y", "y", 2560, 1920, 700_000L));
+
+    @Test
+    void shouldChooseSmallestSizeReachingTargetDimension() {
+        // when
+        var chosen = TelegramPhotoMethods.choosePhotoSize(SIZES, 1280, 20_000_000L);
+
+        // then
+        assertThat(chosen.get().fileId()).isEqualTo("x");
+    }
+
+    @Test
+    void shouldFallBackToLargestSizeWithinFileLimit() {
+        // when
+        var chosen = TelegramPhotoMethods.choosePhotoSize(SIZES, 4000, 500_000L);
+
+        // then
+        assertThat(chosen.get().fileId()).isEqualTo("x");
+    }
+
+    @Test
+    void shouldSpoolDownloadAndUploadItByContentHash() throws Exception {
+        // given
+        byte[] photo = new byte[300_000];
+        new Random(7).nextBytes(photo);
+        var minio = Mockito.mock(MinioService.class);
+        var uploaded = new AtomicReference<String>();
+        Mockito.when(minio.uploadImage(any(SpooledContent.class), eq("photo.jpg"), eq("image/jpeg"))).thenAnswer(invocation -> {
+            SpooledContent content = invocation.getArgument(0);
+            try (var in = content.openStream()) {
+                assertThat(in.readAllBytes()).isEqualTo(photo);
+            }
+            uploaded.set(content.sha256());
+            return Either.right("images/" + content.sha256() + ".jpg");
+        });
+
+        try (var files = HttpStub.start()
+                .on("/photo.jpg", request -> new HttpStub.Reply(200, "image/jpeg", new ByteArrayInputStream(photo), -1))) {
+            // when
+            var result = TelegramPhotoMethods.streamToMinio(HTTP_CLIENT, URI.create(files.url() + "/photo.jpg"),
+                    Duration.ofSeconds(5), 64 * 1024, null, "photo.jpg", "image/jpeg", minio);
+
+            // then
+            String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(photo));
+            assertThat(uploaded.get()).isEqualTo(sha256);
+            assertThat(result.get()).isEqualTo("images/" + sha256 + ".jpg");
+        }
+    }
+
+    @Test
+    void shouldGiveUpOnStalledDownloadAtDeadline() {
+        // given: a file server that sends the headers and more than its output buffer, then stops
+        var minio = Mockito.mock(MinioService.class);
+        var release = new CountDownLatch(1);
+        InputStream stalled = new SequenceInputStream(new ByteArrayInputStream(new byte[256 * 1024]), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        });
+
+        try (var files = HttpStub.start()
+                .on("/photo.jpg", request -> new HttpStub.Reply(200, "image/jpeg", stalled, -1))) {
+            // when
+            long start = System.nanoTime();
+            var result = TelegramPhotoMethods.streamToMinio(HTTP_CLIENT, URI.create(files.url() + "/photo.jpg"),
+                    Duration.ofMillis(500), 64 * 1024, null, "photo.jpg", "image/jpeg", minio);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // then
+            assertThat(result.getLeft().code()).isEqualTo(ErrorCode.TIMEOUT);
+            assertThat(elapsedMillis).isLessThan(1_500);
+            Mockito.verifyNoInteractions(minio);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mrngwozdz.service.telegram.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardMapTest {
+
+    @Test
+    void shouldSpreadConsecutiveChatsOverAllShards() {
+        // given
+        int shards = 64;
+        int[] counts = new int[shards];
+
+        // when
+        LongStream.range(0, 64_000).forEach(chatId -> counts[ShardMap.shardOf(chatId, shards)]++);
+
+        // then
+        assertThat(IntStream.of(counts).min().orElseThrow()).isGreaterThan(800);
+        assertThat(IntStream.of(counts).max().orElseThrow()).isLessThan(1200);
+    }
+
+    @Test
+    void shouldMapNegativeGroupChatIdsIntoRange() {
+        // when
+        int shard = ShardMap.shardOf(-1001234567890L, 64);
+
+        // then
+        assertThat(shard).isBetween(0, 63);
+    }
+
+    @Test
+    void shouldRoundFairShareUpAndTreatNoLiveNodesAsOne() {
+        // then
+        assertThat(ShardMap.targetCount(64, 3)).isEqualTo(22);
+        assertThat(ShardMap.targetCount(64, 4)).isEqualTo(16);
+        assertThat(ShardMap.targetCount(64, 0)).isEqualTo(64);
+    }
+}
@@ -0,0 +1,226 @@
+package com.mrngwozdz.service.telegram.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrngwozdz.AbstractIntegrationTest;
+import com.mrngwozdz.configuration.properties.TelegramProperties;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramChat;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramMessage;
+import com.mrngwozdz.service.telegram.data.api.model.TelegramUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+class TelegramShardCoordinatorTest extends AbstractIntegrationTest {
+
+    private static final int SHARDS = 8;
+
+    @Inject
+    TelegramShardRepository repository;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ObjectMapper mapper;
+
+    private final List<TelegramShardCoordinator> nodes = new ArrayList<>();
+
+    @BeforeEach
+    @AfterEach
+    void clearTables() throws SQLException {
+        nodes.forEach(TelegramShardCoordinator::close);
+        nodes.clear();
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("DELETE FROM telegram_nodes");
+            statement.execute("DELETE FROM telegram_forwarded_updates");
+        }
+    }
+
+    @Test
+    void shouldSplitShardsWhenANodeJoins() {
+        // given
+        var first = node();
+        first.rebalance();
+
+        // when
+        var second = node();
+        second.rebalance();
+        first.rebalance();
+        first.rebalance();
+        second.rebalance();
+
+        // then
+        assertThat(first.ownedShards()).hasSize(SHARDS / 2);
+        assertThat(second.ownedShards()).hasSize(SHARDS / 2).doesNotContainAnyElementsOf(first.ownedShards());
+    }
+
+    @Test
+    void shouldKeepReleasedShardsLockedUntilTheNextHeartbeat() {
+        // given
+        var first = node();
+        first.rebalance();
+        var second = node();
+        second.rebalance();
+
+        // when
+        first.rebalance();
+        second.rebalance();
+
+        // then
+        assertThat(first.ownedShards()).hasSize(SHARDS / 2);
+        assertThat(second.ownedShards()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepReleasedShardLockedWhileItsUpdatesAreQueued() {
+        // given
+        var first = node();
+        first.rebalance();
+        long chatId = chatInShard(SHARDS - 1);
+        first.updateStarted(chatId);
+        var second = node();
+        second.rebalance();
+        first.rebalance();
+
+        // when
+        first.rebalance();
+        second.rebalance();
+
+        // then
+        assertThat(first.ownsChat(chatId)).isFalse();
+        assertThat(second.ownedShards()).hasSize(SHARDS / 2 - 1).doesNotContain(SHARDS - 1);
+        first.updateFinished(chatId);
+        first.rebalance();
+        second.rebalance();
+        assertThat(second.ownedShards()).hasSize(SHARDS / 2).contains(SHARDS - 1);
+    }
+
+    @Test
+    void shouldTakeOverShardsOfANodeThatLeft() {
+        // given
+        var first = node();
+        var second = node();
+        first.rebalance();
+        second.rebalance();
+        first.rebalance();
+        first.rebalance();
+        second.rebalance();
+
+        // when
+        second.close();
+        first.rebalance();
+
+        // then
+        assertThat(first.ownedShards()).hasSize(SHARDS);
+    }
+
+    @Test
+    void shouldReleaseShardLocksWhenTheLockConnectionIsReset() throws SQLException {
+        // given
+        var first = node();
+        first.rebalance();
+
+        // when
+        first.resetLockConnection();
+        var second = node();
+        second.rebalance();
+
+        // then
+        assertThat(first.ownedShards()).isEmpty();
+        assertThat(second.ownedShards()).hasSize(SHARDS);
+        assertThat(heldShardLocks()).isEqualTo(SHARDS);
+        second.resetLockConnection();
+        assertThat(heldShardLocks()).isZero();
+    }
+
+    @Test
+    void shouldDrainForwardedUpdatesOnTheOwnerInOrder() {
+        // given
+        var owner = node();
+        owner.rebalance();
+        var receiver = node();
+        List<Long> handled = new ArrayList<>();
+        owner.onForwarded(update -> handled.add(update.updateId()));
+
+        // when
+        receiver.forward(update(1L, 42L), 42L);
+        receiver.forward(update(2L, 42L), 42L);
+        boolean pendingBefore = owner.hasPending(42L);
+        owner.drain();
+
+        // then
+        assertThat(pendingBefore).isTrue();
+        assertThat(handled).containsExactly(1L, 2L);
+        assertThat(owner.hasPending(42L)).isFalse();
+    }
+
+    @Test
+    void shouldKeepForwardedUpdatesTheOwnerCouldNotQueue() {
+        // given
+        var owner = node();
+        owner.rebalance();
+        owner.forward(update(1L, 42L), 42L);
+        owner.forward(update(2L, 42L), 42L);
+        owner.onForwarded(update -> false);
+
+        // when
+        owner.drain();
+        List<Long> handled = new ArrayList<>();
+        owner.onForwarded(update -> handled.add(update.updateId()));
+        owner.drain();
+
+        // then
+        assertThat(handled).containsExactly(1L, 2L);
+        assertThat(owner.hasPending(42L)).isFalse();
+    }
+
+    private static long chatInShard(int shard) {
+        return LongStream.iterate(1, chatId -> chatId + 1)
+                .filter(chatId -> ShardMap.shardOf(chatId, SHARDS) == shard)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private int heldShardLocks() throws SQLException {
+        try (var connection = dataSource.getConnection(); var statement = connection.prepareStatement(
+                "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND objsubid = 2 AND CAST(classid AS bigint) = ?")) {
+            statement.setLong(1, TelegramShardCoordinator.LOCK_NAMESPACE);
+            try (var result = statement.executeQuery()) {
+                result.next();
+                return result.getInt(1);
+            }
+        }
+    }
+
+    private TelegramShardCoordinator node() {
+        var sharding = Mockito.mock(TelegramProperties.Sharding.class);
+        Mockito.when(sharding.enabled()).thenReturn(true);
+        Mockito.when(sharding.shards()).thenReturn(SHARDS);
+        Mockito.when(sharding.nodeTimeout()).thenReturn(Duration.ofSeconds(20));
+        Mockito.when(sharding.drainBatchSize()).thenReturn(100);
+        var properties = Mockito.mock(TelegramProperties.class);
+        Mockito.when(properties.sharding()).thenReturn(sharding);
+        var node = new TelegramShardCoordinator(repository, dataSource, mapper, properties, new SimpleMeterRegistry());
+        nodes.add(node);
+        return node;
+    }
+
+    private static TelegramUpdate update(long updateId, long chatId) {
+        var chat = new TelegramChat(chatId, "private", null, null, null, null);
+        return new TelegramUpdate(updateId, new TelegramMessage(updateId, null, chat, 0L, "hi", null, null, null, null));
+    }
+}